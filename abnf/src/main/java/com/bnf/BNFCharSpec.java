@@ -62,4 +62,14 @@ public interface BNFCharSpec extends CharSetSpec {
     default boolean isNewLine(char cc) {
         return cc == LINE_FEED;
     }
+
+    @Override
+    default boolean isDelimiter(char cc) {
+        return cc == OR_DELIMITER;
+    }
+
+    @Override
+    default boolean isQuote(char cc) {
+        return cc == TEXT_QUOTE || cc == TEXT_QUOTE_2;
+    }
 }
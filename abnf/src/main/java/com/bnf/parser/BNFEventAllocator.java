@@ -7,6 +7,27 @@ import com.file.stream.LangEvent;
 
 public class BNFEventAllocator implements EventAllocator {
 
+    private final boolean recycle;
+
+    // the reused events if recycling is enabled
+    private final BNFEvent.TextEvent       textEvent       = new BNFEvent.TextEvent(null, false);
+    private final BNFEvent.TextEvent       refEvent        = new BNFEvent.TextEvent(null, false, BNFEvent.REF_EVENT);
+    private final BNFEvent.OccurrenceEvent occurrenceEvent = new BNFEvent.OccurrenceEvent(0, 0, false);
+    private final BNFEvent.GroupEvent      groupEvent      = new BNFEvent.GroupEvent(false, 0);
+    private final BNFEvent.OREvent         orEvent         = new BNFEvent.OREvent();
+    private final BNFEvent.EndDocumentEvent endDocument    = new BNFEvent.EndDocumentEvent();
+
+    public BNFEventAllocator() {
+        this(false);
+    }
+
+    /**
+     * @param recycle if true, one event per type is reused, see {@link LangEvent}
+     */
+    public BNFEventAllocator(boolean recycle) {
+        this.recycle = recycle;
+    }
+
     @Override
     public LangEvent allocate(FragmentFileScanner fragmentFileScanner) {
         LangEvent event = null;
@@ -15,30 +36,47 @@ public class BNFEventAllocator implements EventAllocator {
         switch (fragmentFileScanner.getEventType()) {
             case BNFEvent.TEXT_EVENT:
             case BNFEvent.COMMENT_EVENT:
-                event = new BNFEvent.TextEvent(sc.getTextElement(), sc.isAddable());
+                if (recycle) {
+                    textEvent.setValues(sc.getTextElement(), sc.isAddable());
+                    event = textEvent;
+                } else event = new BNFEvent.TextEvent(sc.getTextElement(), sc.isAddable());
                 break;
 
             case BNFEvent.REF_EVENT:
-                event = new BNFEvent.TextEvent(sc.getTextElement(), sc.isAddable(), BNFEvent.REF_EVENT);
+                if (recycle) {
+                    refEvent.setValues(sc.getTextElement(), sc.isAddable());
+                    event = refEvent;
+                } else event = new BNFEvent.TextEvent(sc.getTextElement(), sc.isAddable(), BNFEvent.REF_EVENT);
                 break;
 
             case BNFEvent.OCCURRENCE_EVENT:
-                event = new BNFEvent.OccurrenceEvent(sc.getMin(), sc.getMax(), sc.isAddable());
+                if (recycle) {
+                    occurrenceEvent.setValues(sc.getMin(), sc.getMax(), sc.isAddable());
+                    event = occurrenceEvent;
+                } else event = new BNFEvent.OccurrenceEvent(sc.getMin(), sc.getMax(), sc.isAddable());
                 break;
 
             case BNFEvent.GROUP_EVENT:
-                event = new BNFEvent.GroupEvent(sc.isGroupClosed(), sc.getGroupType());
+                if (recycle) {
+                    groupEvent.setValues(sc.isGroupClosed(), sc.getGroupType());
+                    event = groupEvent;
+                } else event = new BNFEvent.GroupEvent(sc.isGroupClosed(), sc.getGroupType());
                 break;
 
             case BNFEvent.OR_EVENT:
-                event = new BNFEvent.OREvent();
+                event = recycle ? orEvent : new BNFEvent.OREvent();
                 break;
 
             case BNFEvent.END_DOCUMENT:
-                event = new BNFEvent.EndDocumentEvent();
+                event = recycle ? endDocument : new BNFEvent.EndDocumentEvent();
                 break;
 
         }
         return event;
     }
+
+    @Override
+    public boolean isRecycling() {
+        return recycle;
+    }
 }
@@ -4,6 +4,7 @@ import com.bnf.BNF;
 import com.bnf.BNFCharSpec;
 import com.bnf.BNFElement;
 import com.bnf.parser.event.BNFEvent;
+import com.file.Delimiter;
 import com.file.FileScanner;
 import com.file.FragmentDriver;
 import com.file.FragmentFileScanner;
@@ -138,12 +139,12 @@ public class BNFFragmentedScanner extends FragmentFileScanner implements BNFChar
                         case TEXT_QUOTE:
                             // TExtElement: the element is textOnly
                             getScanner().skipChar(TEXT_QUOTE);
-                            getScanner().scanData(asString(TEXT_QUOTE), getBuffer(true), false);
+                            getScanner().scanData(Delimiter.of(TEXT_QUOTE), getToken(true), false);
                             return eventType = BNFEvent.TEXT_EVENT;
 
                         case TEXT_QUOTE_2:
                             getScanner().skipChar(TEXT_QUOTE_2);
-                            getScanner().scanData(asString(TEXT_QUOTE_2), getBuffer(true), false);
+                            getScanner().scanData(Delimiter.of(TEXT_QUOTE_2), getToken(true), false);
                             return eventType = BNFEvent.TEXT_EVENT;
 
                         case OCCURRENCE_INDICATOR:
@@ -215,7 +216,7 @@ public class BNFFragmentedScanner extends FragmentFileScanner implements BNFChar
 
     private void scanText(char delim, int type, boolean stop) throws IOException {
         setEventType(type);
-        getScanner().scanData(asString(delim), getBuffer(true), stop);
+        getScanner().scanData(Delimiter.of(delim), getToken(true), stop);
         getScanner().getEntity().position--;
     }
 }
@@ -18,11 +18,21 @@ import java.text.ParseException;
 
 public class BNFParserImpl implements BNFParser<BNFElement<?>> {
 
-    protected final InputFactory   factory   = new BNFInputFactory();
-    protected final EventAllocator allocator = factory.getEventAllocator();
+    protected final InputFactory   factory;
+    protected final EventAllocator allocator;
 
     protected FragmentFileScanner scanner;
 
+    public BNFParserImpl() {
+        this(new BNFInputFactory());
+    }
+
+    public BNFParserImpl(InputFactory factory) {
+        this.factory   = factory;
+        // a recycling allocator must not be shared with other parsers
+        this.allocator = factory.isRecycleEvents() ? factory.newEventAllocator(true) : factory.getEventAllocator();
+    }
+
     @Override
     public BNFElement<?> parse(Reader reader) throws IOException, ParseException {
         scanner = factory.createFragmentFileScanner(reader);
@@ -118,7 +128,8 @@ public class BNFParserImpl implements BNFParser<BNFElement<?>> {
                     if (!(event instanceof OccurrenceEvent)) {
                         throw new ParseException("Event not an instance of OccurrenceEvent.", -1);
                     }
-                    rangeEvent = (OccurrenceEvent) event;
+                    // the event is retained until the next element is read
+                    rangeEvent = (OccurrenceEvent) event.copy();
                     break;
                 }
                 // This event is called if the specified group has been closed
@@ -232,7 +243,7 @@ public class BNFParserImpl implements BNFParser<BNFElement<?>> {
                     break;
 
                 case BNFEvent.OCCURRENCE_EVENT:
-                    rangeEvent = (OccurrenceEvent) event;
+                    rangeEvent = (OccurrenceEvent) event.copy();
                     if (rangeEvent.isAddable()) {
                         if (current != null) {
                             if (group != null && orCall) {
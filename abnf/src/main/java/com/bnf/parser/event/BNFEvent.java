@@ -14,10 +14,14 @@ public abstract class BNFEvent implements LangEvent {
 
     public static class GroupEvent extends BNFEvent {
 
-        private final int     groupType;
-        private final boolean closed;
+        private int     groupType;
+        private boolean closed;
 
         public GroupEvent(boolean closed, int groupType) {
+            setValues(closed, groupType);
+        }
+
+        public void setValues(boolean closed, int groupType) {
             this.closed    = closed;
             this.groupType = groupType;
         }
@@ -30,6 +34,11 @@ public abstract class BNFEvent implements LangEvent {
             return closed;
         }
 
+        @Override
+        public GroupEvent copy() {
+            return new GroupEvent(closed, groupType);
+        }
+
         @Override
         public int getType() {
             return GROUP_EVENT;
@@ -44,18 +53,23 @@ public abstract class BNFEvent implements LangEvent {
     }
 
     public static class TextEvent extends BNFEvent {
-        private final boolean addable;
-        private final String  content;
-        private final int     type;
+        private final int type;
+
+        private boolean addable;
+        private String  content;
 
         public TextEvent(String content, boolean addable) {
             this(content, addable, TEXT_EVENT);
         }
 
         public TextEvent(String content, boolean addable, int type) {
-            this.addable = addable;
+            this.type = type;
+            setValues(content, addable);
+        }
+
+        public void setValues(String content, boolean addable) {
             this.content = content;
-            this.type    = type;
+            this.addable = addable;
         }
 
         public String getContent() {
@@ -66,11 +80,21 @@ public abstract class BNFEvent implements LangEvent {
             return addable;
         }
 
+        @Override
+        public CharSequence getText() {
+            return content;
+        }
+
         @Override
         public int getType() {
             return type;
         }
 
+        @Override
+        public TextEvent copy() {
+            return new TextEvent(content, addable, type);
+        }
+
         @Override
         public String toString() {
             return getContent();
@@ -79,11 +103,15 @@ public abstract class BNFEvent implements LangEvent {
 
     public static class OccurrenceEvent extends BNFEvent {
 
-        private final int     min;
-        private final int     max;
-        private final boolean addable;
+        private int     min;
+        private int     max;
+        private boolean addable;
 
         public OccurrenceEvent(int min, int max, boolean addable) {
+            setValues(min, max, addable);
+        }
+
+        public void setValues(int min, int max, boolean addable) {
             this.min     = min;
             this.max     = max;
             this.addable = addable;
@@ -101,6 +129,11 @@ public abstract class BNFEvent implements LangEvent {
             return max;
         }
 
+        @Override
+        public OccurrenceEvent copy() {
+            return new OccurrenceEvent(min, max, addable);
+        }
+
         @Override
         public int getType() {
             return OCCURRENCE_EVENT;
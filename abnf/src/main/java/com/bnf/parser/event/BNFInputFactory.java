@@ -19,6 +19,11 @@ public class BNFInputFactory extends InputFactory {
         return new BNFEventAllocator();
     }
 
+    @Override
+    public EventAllocator newEventAllocator(boolean recycle) {
+        return new BNFEventAllocator(recycle);
+    }
+
     @Override
     public FragmentFileScanner createFragmentFileScanner(FileScanner scanner) {
         return new BNFFragmentedScanner(scanner);
@@ -0,0 +1,62 @@
+package concat; //@date 18.10.2026
+
+import com.bnf.BNFElement;
+import com.bnf.parser.BNFParser;
+import com.bnf.parser.BNFParserImpl;
+import com.bnf.parser.event.BNFInputFactory;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+/**
+ * Compares the default (locked) scanner with the confined one. Run with
+ * {@code -ea} to verify that the confined scanner is only used by one thread.
+ */
+public class BNFParserBenchmark {
+
+    private static final int RULES      = 1_000;
+    private static final int ITERATIONS = 10;
+
+    public static void main(String[] args) throws IOException, ParseException {
+        String src = createSource();
+
+        BNFInputFactory sharedFactory = new BNFInputFactory();
+        BNFInputFactory confinedFactory = new BNFInputFactory();
+        confinedFactory.setConfined(true);
+
+        for (int i = 0; i < 3; i++) {
+            run(sharedFactory, src);
+            run(confinedFactory, src);
+        }
+
+        long shared   = 0;
+        long confined = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            shared   += run(sharedFactory, src);
+            confined += run(confinedFactory, src);
+        }
+        System.out.printf("shared:   %d ms%n", shared / ITERATIONS / 1_000_000);
+        System.out.printf("confined: %d ms%n", confined / ITERATIONS / 1_000_000);
+    }
+
+    private static long run(BNFInputFactory factory, String src) throws IOException, ParseException {
+        BNFParser<BNFElement<?>> parser = new BNFParserImpl(factory);
+
+        long start = System.nanoTime();
+        BNFElement<?> element = parser.parse(src);
+        long time = System.nanoTime() - start;
+
+        if (element == null) {
+            throw new IllegalStateException("nothing parsed");
+        }
+        return time;
+    }
+
+    private static String createSource() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < RULES; i++) {
+            builder.append("'Hello").append(i).append("' 'World' ");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,224 @@
+package com.file; //@date 18.10.2026
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.Charset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A {@link FileEntity} reading from an {@link AsynchronousFileChannel}. The next
+ * chunk of bytes is always requested from the channel while the current one is
+ * parsed, and a {@link CompletionHandler} marks it as available once it has
+ * arrived.
+ * <p>
+ * The entity feeds itself with the chunks, so it is read like a {@link FeedFileEntity}:
+ * if the parse outruns the channel, the read throws a {@link NeedMoreInputException}
+ * instead of blocking the thread, {@link FragmentFileScanner#next()} returns
+ * {@link FragmentFileScanner#NEED_MORE_INPUT} and the current event is scanned
+ * again later. With {@link #whenReady(Runnable)} the caller continues the parse
+ * once the chunk has arrived, so many parses can share a small pool:
+ * <pre>{@code
+ * void step() {
+ *     while (parser.hasNext()) {
+ *         try {
+ *             handle(parser.nextEvent());
+ *         } catch (NeedMoreInputException e) {
+ *             entity.whenReady(() -> pool.execute(this::step));
+ *             return;
+ *         }
+ *     }
+ * }
+ * }</pre>
+ * A {@link #setBlocking(boolean) blocking} entity waits for the chunk instead.
+ * <p>
+ * Malformed input is replaced the same way a {@link java.io.FileReader} would
+ * do it.
+ */
+public class AsyncFileEntity extends FeedFileEntity {
+
+    private final AsynchronousFileChannel channel;
+    private final ByteBuffer              chunk;
+
+    private final Handler handler = new Handler();
+
+    // the number of bytes requested from the channel so far
+    private long filePosition;
+
+    // the outstanding read, null if there is none
+    private volatile CompletableFuture<Integer> pending;
+
+    // true once the scanner has read everything fed so far and waits for the
+    // pending read, the chars it reads again after a reset do not count
+    private volatile boolean starved;
+
+    private boolean blocking;
+
+    public AsyncFileEntity(AsynchronousFileChannel channel, Charset charset) {
+        this(channel, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    public AsyncFileEntity(AsynchronousFileChannel channel, Charset charset, int chunkSize) {
+        super(charset, chunkSize);
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("invalid chunk size: " + chunkSize);
+        }
+        this.channel = channel;
+        this.chunk   = ByteBuffer.allocate(chunkSize);
+    }
+
+    @Override
+    protected int read(int offset, int len) throws IOException {
+        while (available() == 0 && !isFinished()) {
+            CompletableFuture<Integer> future = start();
+            if (!future.isDone() && !blocking) {
+                // the event is scanned again once the chunk has arrived
+                starved = true;
+                throw new NeedMoreInputException();
+            }
+            take(future);
+        }
+        return super.read(offset, len);
+    }
+
+    /**
+     * Feeds the chunk read by the given future and requests the one behind it.
+     */
+    private void take(CompletableFuture<Integer> future) throws IOException {
+        int count = await(future);
+        pending = null;
+        starved = false;
+        if (count == -1) {
+            super.endOfInput();
+            return;
+        }
+        filePosition += count;
+        super.feed(chunk.flip());
+        chunk.clear();
+        start();
+    }
+
+    private CompletableFuture<Integer> start() {
+        CompletableFuture<Integer> future = pending;
+        if (future == null && !isFinished()) {
+            future = pending = new CompletableFuture<>();
+            channel.read(chunk, filePosition, future, handler);
+        }
+        return future;
+    }
+
+    private static int await(CompletableFuture<Integer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for data");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    /**
+     * @return false if the scanner has read everything fed so far and the
+     *         pending read has not been completed yet, so the next event would
+     *         be {@link FragmentFileScanner#NEED_MORE_INPUT} again
+     */
+    public boolean isReady() {
+        CompletableFuture<Integer> future = pending;
+        return !starved || future == null || future.isDone();
+    }
+
+    /**
+     * Runs the given action once {@link #isReady()} returns true. The action
+     * runs on the calling thread if this is already the case, otherwise on the
+     * thread completing the read. This method is safe to be called from any
+     * thread, it does not start a read.
+     */
+    public void whenReady(Runnable action) {
+        CompletableFuture<Integer> future = pending;
+        if (!starved || future == null) {
+            action.run();
+        } else {
+            future.whenComplete((count, error) -> action.run());
+        }
+    }
+
+    /**
+     * If set, a read waits for the next chunk instead of throwing a
+     * {@link NeedMoreInputException}, so the entity can be parsed with the
+     * pulling methods of a {@link com.file.stream.LangStream}.
+     */
+    public void setBlocking(boolean blocking) {
+        this.blocking = blocking;
+    }
+
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    /**
+     * The entity is fed by its channel only.
+     *
+     * @throws IllegalStateException always
+     */
+    @Override
+    public void feed(char[] chunk, int offset, int length) {
+        throw new IllegalStateException("the entity is fed by its channel");
+    }
+
+    /**
+     * @throws IllegalStateException always
+     */
+    @Override
+    public void feed(CharSequence chunk) {
+        throw new IllegalStateException("the entity is fed by its channel");
+    }
+
+    /**
+     * @throws IllegalStateException always
+     */
+    @Override
+    public void feed(ByteBuffer chunk) {
+        throw new IllegalStateException("the entity is fed by its channel");
+    }
+
+    /**
+     * @throws IllegalStateException always
+     */
+    @Override
+    public void endOfInput() {
+        throw new IllegalStateException("the end of the input is read from the channel");
+    }
+
+    @Override
+    public long getByteOffset(CharSequence unread) {
+        CharSequence buffered = buffered();
+        return filePosition - undecoded() - encodedLength(unread, getCharset()) - encodedLength(buffered, getCharset());
+    }
+
+    public AsynchronousFileChannel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static class Handler implements CompletionHandler<Integer, CompletableFuture<Integer>> {
+
+        @Override
+        public void completed(Integer count, CompletableFuture<Integer> future) {
+            future.complete(count);
+        }
+
+        @Override
+        public void failed(Throwable error, CompletableFuture<Integer> future) {
+            future.completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.file; //@date 18.10.2026
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * A {@link FileEntity} that stores the raw input bytes instead of decoded
+ * characters. It is used by the {@link ByteFileScanner} and has no
+ * {@link FileEntity#buf character buffer} at all.
+ */
+public class ByteFileEntity extends FileEntity {
+
+    public byte[] bytes;
+
+    private final Charset charset;
+
+    private InputStream         input;
+    private ReadableByteChannel channel;
+
+    public ByteFileEntity(InputStream input, Charset charset) {
+        this(input, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ByteFileEntity(InputStream input, Charset charset, int bufferSize) {
+        this(charset, bufferSize);
+        this.input = input;
+    }
+
+    public ByteFileEntity(ReadableByteChannel channel, Charset charset) {
+        this(channel, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ByteFileEntity(ReadableByteChannel channel, Charset charset, int bufferSize) {
+        this(charset, bufferSize);
+        this.channel = channel;
+    }
+
+    private ByteFileEntity(Charset charset, int bufferSize) {
+        super((char[]) null);
+        this.charset    = charset;
+        this.bytes      = new byte[bufferSize];
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    protected int read(int offset, int len) throws IOException {
+        if (input != null) {
+            return input.read(bytes, offset, len);
+        }
+        if (channel != null) {
+            return channel.read(ByteBuffer.wrap(bytes, offset, len));
+        }
+        throw new IOException("no input specified");
+    }
+
+    @Override
+    public int capacity() {
+        return bytes.length;
+    }
+
+    @Override
+    public void compact(int from, int length) {
+        System.arraycopy(bytes, from, bytes, 0, length);
+    }
+
+    @Override
+    public void resize(int capacity) {
+        byte[] array = new byte[capacity];
+        System.arraycopy(bytes, 0, array, 0, Math.min(count, capacity));
+        bytes      = array;
+        bufferSize = capacity;
+    }
+
+    @Override
+    public Charset getCharset() {
+        return charset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (input != null) {
+            input.close();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.file; //@date 18.10.2026
+
+import com.file.spec.CharSetSpec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link FileScanner} working directly on the raw bytes of a {@link ByteFileEntity}.
+ * All scanning methods compare bytes and the data is decoded only when a token
+ * is appended to the given {@link TokenSlice}.
+ * <p>
+ * Only ASCII compatible charsets are supported: {@code US-ASCII} and {@code ISO-8859-1},
+ * which are read as one byte per character, and {@code UTF-8}. The latter works
+ * because every byte of a multibyte sequence is above {@code 0x7F}, so it can never
+ * be mistaken for one of the 7-bit delimiters used by the fragment scanners.
+ * <p>
+ * <strong>Note:</strong> In {@code UTF-8} mode {@link #peekChar()} returns
+ * {@link #NON_ASCII} for every byte of a multibyte sequence.
+ */
+public class ByteFileScanner extends FileScanner {
+
+    public static final char NON_ASCII = '\uFFFD';
+
+    private final ByteFileEntity byteEntity;
+    private final Charset        charset;
+    private final CharsetDecoder decoder;
+
+    private final boolean singleByte;
+
+    // bytes of a token spanning more than one read
+    private byte[] token = new byte[DEFAULT_SCANNER_BUFFER_SIZE];
+    private int    tokenLength;
+
+    private char[] chars = new char[DEFAULT_SCANNER_BUFFER_SIZE];
+
+    private String delimiter;
+    private byte[] delimiterBytes;
+
+    public ByteFileScanner(ByteFileEntity entity) {
+        super(entity);
+        this.byteEntity = entity;
+        this.charset    = entity.getCharset();
+        if (!isSupported(charset)) {
+            throw new IllegalArgumentException("unsupported charset: " + charset);
+        }
+        this.singleByte = !StandardCharsets.UTF_8.equals(charset);
+        this.decoder    = charset.newDecoder()
+                                 .onMalformedInput(CodingErrorAction.REPLACE)
+                                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    public static boolean isSupported(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset)
+                || StandardCharsets.ISO_8859_1.equals(charset)
+                || StandardCharsets.US_ASCII.equals(charset);
+    }
+
+    @Override
+    public boolean scanData(Delimiter delimiter, TokenSlice slice, int chunkLimit, boolean stopOnNewLine) throws IOException {
+        boolean done     = false;
+        boolean found    = false;
+        boolean needMore = false;
+
+        // collect some information about the delimiter
+        byte[] delim = encode(delimiter.toString());
+        int    len   = delim.length;
+        byte   c0    = delim[0];
+
+        // see FileScanner#scanData, but eight bytes are compared at once
+        boolean fast = !stopOnNewLine || newLine != SearchUtils.MULTIPLE_NEW_LINES;
+        byte    c1   = stopOnNewLine && newLine >= 0 ? (byte) newLine : c0;
+
+        tokenLength = 0;
+        try {
+            do {
+                if (needMore) {
+                    // the remaining bytes are the start of the delimiter
+                    int remaining = entity.count - entity.position;
+                    entity.compact(entity.position, remaining);
+                    entity.count    = remaining;
+                    entity.position = 0;
+
+                    if (tokenLength > entity.capacity() >> 1 || remaining == entity.capacity()) {
+                        entity.ensureCapacity(entity.capacity() << 1);
+                    }
+
+                    try {
+                        load(remaining);
+                    } catch (EOFException e) {
+                        // the kept bytes are the end of the last token
+                        append(byteEntity.bytes, 0, remaining);
+                        throw e;
+                    }
+                    entity.position = 0;
+                    needMore = false;
+                }
+                else loadIfPossible(0);
+
+                byte[] bytes  = byteEntity.bytes;
+                int    offset = entity.position;
+                // iterating over the given buffer while looking for the given delimiter
+                DELIM_CHECK: while (entity.position < entity.count) {
+                    if (fast) {
+                        entity.position = SearchUtils.indexOf(bytes, entity.position, entity.count, c0, c1);
+                        if (entity.position == entity.count) {
+                            break;
+                        }
+                    }
+                    byte c = bytes[entity.position++];
+                    if (c == c0) {
+                        int delimOffset = entity.position - 1;
+                        for (int i = 1; i < len; i++) {
+                            if (entity.position == entity.count) {
+                                // the rest of the buffer might be the start of the delimiter
+                                entity.position = delimOffset;
+                                needMore = true;
+                                break DELIM_CHECK;
+                            }
+                            else if (isNewLine(c)) {
+                                if (stopOnNewLine) {
+                                    entity.position--;
+                                    break DELIM_CHECK;
+                                }
+                            }
+                            c = bytes[entity.position++];
+                            if (delim[i] != c) {
+                                // go on with the char behind the candidate
+                                entity.position = delimOffset + 1;
+                                break;
+                            }
+                        }
+                        if (entity.position == delimOffset + len) {
+                            // We found the delimiter string in the given text
+                            done = true;
+                            found = true;
+                            break;
+                        }
+                    }
+                    else if (isNewLine(c)) {
+                        if (stopOnNewLine) {
+                            entity.position--;
+                            done = true;
+                            break;
+                        }
+                    }
+                }
+
+                int length = entity.position - offset;
+                if (found) {
+                    length -= len;
+                }
+                if (done && tokenLength == 0) {
+                    // The whole token is located in the current buffer, so
+                    // it can be decoded without copying it first.
+                    decode(bytes, offset, length, slice);
+                    break;
+                }
+                if (slice != TokenSlice.DISCARD) {
+                    append(bytes, offset, length);
+                }
+                if (chunkLimit > 0 && tokenLength >= chunkLimit) {
+                    break;
+                }
+            } while (!done && chunkLimit == 0);
+        } finally {
+            // Also called on EOF: the bytes read so far belong to the
+            // last token of the file.
+            if (tokenLength > 0) {
+                decode(token, 0, tokenLength, slice);
+                tokenLength = 0;
+            }
+        }
+        return !done;
+    }
+
+    @Override
+    public boolean skip(char[] s) throws IOException {
+        if (!isSingleByte(s)) {
+            return skip(new String(s).getBytes(charset), s.length);
+        }
+
+        final int len = s.length;
+        if (arrangeBuffer(len)) {
+            byte[] bytes  = byteEntity.bytes;
+            int    before = entity.position;
+            for (char c : s) {
+                if ((bytes[before++] & 0xFF) != c) {
+                    return false;
+                }
+            }
+
+            entity.position = entity.position + len;
+            entity.column += len;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean skip(byte[] s, int columns) throws IOException {
+        final int len = s.length;
+        if (arrangeBuffer(len)) {
+            byte[] bytes  = byteEntity.bytes;
+            int    before = entity.position;
+            for (byte c : s) {
+                if (bytes[before++] != c) {
+                    return false;
+                }
+            }
+
+            entity.position = entity.position + len;
+            entity.column += columns;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public char peekChar() throws IOException {
+        loadIfPossible(0);
+        return toChar(byteEntity.bytes[entity.position]);
+    }
+
+    @Override
+    public boolean skipChar(char c) throws IOException {
+        loadIfPossible(0);
+
+        char x = toChar(byteEntity.bytes[entity.position]);
+        if (x == c) {
+            entity.position++;
+            if (charClasses.isNewLine(c)) {
+                entity.column = 1;
+            } else entity.column++;
+            return true;
+        }
+        else if (charClasses.isNewLine(c)) {
+            loadIfPossible(0);
+            entity.position++;
+            if (isNewLine(byteEntity.bytes[entity.position])) {
+                entity.position++;
+            }
+            entity.column = 1;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean skipDeclSpaces() throws IOException {
+        loadIfPossible(0);
+
+        byte c = byteEntity.bytes[entity.position];
+        boolean changed = false;
+        if (isSpace(c)) {
+            do {
+                if (isNewLine(c)) {
+                    entity.column = 1;
+
+                    if (entity.position == entity.count - 1) {
+                        byteEntity.bytes[0] = c;
+                        if (!(changed = load(1))) {
+                            entity.position = 0;
+                        }
+                    }
+                } else entity.column++;
+
+                if (!changed) {
+                    entity.position++;
+                }
+                loadIfPossible(0);
+            } while (isSpace(c = byteEntity.bytes[entity.position]));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void setCharSet(CharSetSpec charSet) {
+        super.setCharSet(charSet);
+        // in UTF-8 mode only ASCII bytes can be new lines
+        if (charSet != null) {
+            newLine = SearchUtils.findNewLine(charClasses, singleByte ? 0xFF : 0x7F);
+        }
+    }
+
+    private boolean isNewLine(byte c) {
+        return charClasses.isNewLine(toChar(c));
+    }
+
+    private boolean isSpace(byte c) {
+        return charClasses.isSpace(toChar(c));
+    }
+
+    private char toChar(byte c) {
+        return singleByte || c >= 0 ? (char) (c & 0xFF) : NON_ASCII;
+    }
+
+    private boolean isSingleByte(char[] s) {
+        final int limit = singleByte ? 0x100 : 0x80;
+        for (char c : s) {
+            if (c >= limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] encode(String delimiter) {
+        if (!delimiter.equals(this.delimiter)) {
+            this.delimiter = delimiter;
+            delimiterBytes = delimiter.getBytes(charset);
+        }
+        return delimiterBytes;
+    }
+
+    private void append(byte[] src, int offset, int length) {
+        if (tokenLength + length > token.length) {
+            byte[] array = new byte[Math.max(tokenLength + length, token.length << 1)];
+            System.arraycopy(token, 0, array, 0, tokenLength);
+            token = array;
+        }
+        System.arraycopy(src, offset, token, tokenLength, length);
+        tokenLength += length;
+    }
+
+    private void decode(byte[] src, int offset, int length, TokenSlice slice) {
+        if (length <= 0 || slice == TokenSlice.DISCARD) {
+            return;
+        }
+        // a piece decoded before might still be a view on 'chars', it has to
+        // be copied before 'chars' is overwritten
+        slice.detach();
+        // Decoding never produces more chars than bytes with the supported
+        // charsets.
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length << 1)];
+        }
+
+        int i = 0;
+        if (singleByte) {
+            for (; i < length; i++) {
+                chars[i] = (char) (src[offset + i] & 0xFF);
+            }
+        } else {
+            for (; i < length && src[offset + i] >= 0; i++) {
+                chars[i] = (char) src[offset + i];
+            }
+            if (i < length) {
+                // at least one multibyte sequence left, so the decoder has
+                // to do the rest.
+                CharBuffer out = CharBuffer.wrap(chars, i, chars.length - i);
+                decoder.reset();
+                decoder.decode(ByteBuffer.wrap(src, offset + i, length - i), out, true);
+                decoder.flush(out);
+                i = out.position();
+            }
+        }
+        // the slice is a view on 'chars' until the next token is decoded
+        slice.append(chars, 0, i);
+    }
+
+    /**
+     * @return the offset of the next unread char or -1 if the charset is
+     *         not a single byte one
+     */
+    @Override
+    public long getCharOffset() {
+        return singleByte ? super.getCharOffset() : -1;
+    }
+
+    @Override
+    public long getByteOffset() {
+        // the buffer holds the raw bytes
+        return super.getCharOffset();
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+}
@@ -0,0 +1,84 @@
+package com.file; //@date 18.10.2026
+
+import java.io.Serializable;
+
+/**
+ * The position and state of a {@link FragmentFileScanner} between two events.
+ * A checkpoint can be stored and used to continue parsing at the same point
+ * later, e.g. after a failure, by positioning a new scanner at its
+ * {@link #getByteOffset() byte offset} and passing it to
+ * {@link FragmentFileScanner#restore(Checkpoint)}.
+ */
+public class Checkpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long   charOffset;
+    private final long   byteOffset;
+    private final String charset;
+
+    private final int row;
+    private final int column;
+    private final int state;
+
+    // the column of the underlying entity
+    private final int entityColumn;
+
+    public Checkpoint(long charOffset, long byteOffset, String charset, int row, int column, int state, int entityColumn) {
+        this.charOffset   = charOffset;
+        this.byteOffset   = byteOffset;
+        this.charset      = charset;
+        this.row          = row;
+        this.column       = column;
+        this.state        = state;
+        this.entityColumn = entityColumn;
+    }
+
+    protected Checkpoint(Checkpoint checkpoint) {
+        this(checkpoint.charOffset, checkpoint.byteOffset, checkpoint.charset, checkpoint.row, checkpoint.column,
+             checkpoint.state, checkpoint.entityColumn);
+    }
+
+    /**
+     * @return the offset of the next char in the whole input, -1 if unknown
+     */
+    public long getCharOffset() {
+        return charOffset;
+    }
+
+    /**
+     * @return the offset of the next char in the underlying bytes, -1 if unknown
+     */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * @return the name of the charset of the underlying bytes or null if unknown
+     */
+    public String getCharset() {
+        return charset;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    public int getEntityColumn() {
+        return entityColumn;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{charOffset=" + charOffset + ", byteOffset=" + byteOffset
+                + ", row=" + row + ", column=" + column + ", state=" + state + "}";
+    }
+}
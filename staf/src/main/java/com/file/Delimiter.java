@@ -0,0 +1,127 @@
+package com.file; //@date 18.10.2026
+
+import java.util.Arrays;
+
+/**
+ * A precompiled delimiter used by {@link FileScanner#scanData(Delimiter, TokenSlice, int, boolean)}
+ * and {@link FileScanner#skip(Delimiter)}.
+ * <p>
+ * Delimiters with more than one char are searched with the Boyer-Moore-Horspool
+ * algorithm: the last char of a window is compared first and if the window does
+ * not match, it is moved by the distance stored in the skip table for that char.
+ * The table has 256 entries which are indexed by the low byte of a char, so chars
+ * sharing the low byte share the smallest distance of them.
+ * <p>
+ * Instances are immutable and can be shared between scanners.
+ */
+public final class Delimiter {
+
+    private static final Delimiter[] ASCII = new Delimiter[0x80];
+
+    static {
+        for (int c = 0; c < ASCII.length; c++) {
+            ASCII[c] = new Delimiter(String.valueOf((char) c));
+        }
+    }
+
+    private final String text;
+    final char[] chars;
+
+    private final int[] shift;
+
+    private Delimiter(String text) {
+        this.text  = text;
+        this.chars = text.toCharArray();
+
+        final int length = chars.length;
+        this.shift = new int[256];
+        Arrays.fill(shift, length);
+        for (int i = 0; i < length - 1; i++) {
+            shift[chars[i] & 0xFF] = length - 1 - i;
+        }
+    }
+
+    public static Delimiter compile(String text) {
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("empty delimiter");
+        }
+        if (text.length() == 1) {
+            return of(text.charAt(0));
+        }
+        return new Delimiter(text);
+    }
+
+    public static Delimiter of(char c) {
+        return c < ASCII.length ? ASCII[c] : new Delimiter(String.valueOf(c));
+    }
+
+    public int length() {
+        return chars.length;
+    }
+
+    public char charAt(int index) {
+        return chars[index];
+    }
+
+    public char first() {
+        return chars[0];
+    }
+
+    /**
+     * Returns the start index of the first occurrence of this delimiter that is
+     * located completely in {@code [from, to)}, or {@code -1} if there is none.
+     */
+    public int indexOf(char[] buf, int from, int to) {
+        final char[] chars  = this.chars;
+        final int    length = chars.length;
+        final char   c0     = chars[0];
+        if (length == 1) {
+            for (int i = from; i < to; i++) {
+                if (buf[i] == c0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        final char last = chars[length - 1];
+        for (int i = from + length - 1; i < to; i += shift[buf[i] & 0xFF]) {
+            if (buf[i] == last) {
+                int start = i - length + 1;
+                if (buf[start] == c0 && matches(buf, start)) {
+                    return start;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the given buffer contains this delimiter at the given
+     * offset. The caller has to make sure that there are enough chars left.
+     */
+    public boolean matches(char[] buf, int offset) {
+        final char[] chars = this.chars;
+        for (int i = 0; i < chars.length; i++) {
+            if (buf[offset + i] != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Delimiter && text.equals(((Delimiter) o).text);
+    }
+
+    @Override
+    public int hashCode() {
+        return text.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
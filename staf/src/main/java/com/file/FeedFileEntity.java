@@ -0,0 +1,212 @@
+package com.file; //@date 18.10.2026
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A {@link FileEntity} which is fed with chunks of data by the caller instead of
+ * reading them from a {@link java.io.Reader}. If the scanner needs more data than
+ * has been fed, a {@link NeedMoreInputException} is thrown. Only
+ * {@link #endOfInput()} makes the entity report the end of the input.
+ * <p>
+ * All chars behind the {@link #mark() mark} are kept, so the scanner can be
+ * {@link #reset() reset} to it and scan the same data again. The fragment
+ * scanners set the mark at the start of every event, so an event is suspended
+ * in the middle of a token and scanned again once more data is there.
+ * <p>
+ * Bytes can be fed if a charset is given, incomplete sequences at the end of a
+ * chunk are completed by the next one.
+ */
+public class FeedFileEntity extends FileEntity {
+
+    // the fed chars which have not been dropped yet
+    private char[] data = new char[DEFAULT_BUFFER_SIZE];
+    private int    mark, cursor, end;
+
+    // offset of data[0] in the whole input
+    private long base;
+
+    private int markColumn;
+
+    private final CharsetDecoder decoder;
+    private ByteBuffer bytes;
+
+    private boolean finished;
+
+    public FeedFileEntity() {
+        this((Charset) null);
+    }
+
+    public FeedFileEntity(Charset charset) {
+        this(charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    public FeedFileEntity(Charset charset, int bufferSize) {
+        super(bufferSize);
+        this.decoder = charset == null ? null : charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    public void feed(char[] chunk, int offset, int length) {
+        checkOpen();
+        ensureRoom(length);
+        System.arraycopy(chunk, offset, data, end, length);
+        end += length;
+    }
+
+    public void feed(CharSequence chunk) {
+        checkOpen();
+        int length = chunk.length();
+        ensureRoom(length);
+        if (chunk instanceof String) {
+            ((String) chunk).getChars(0, length, data, end);
+        } else {
+            for (int i = 0; i < length; i++) {
+                data[end + i] = chunk.charAt(i);
+            }
+        }
+        end += length;
+    }
+
+    /**
+     * Decodes and feeds the remaining bytes of the given buffer.
+     *
+     * @throws IllegalStateException if no charset was given
+     */
+    public void feed(ByteBuffer chunk) {
+        checkOpen();
+        if (decoder == null) {
+            throw new IllegalStateException("no charset specified");
+        }
+        if (bytes == null || bytes.remaining() < chunk.remaining()) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(chunk.remaining() + 16, bufferSize));
+            if (bytes != null) {
+                buffer.put(bytes.flip());
+            }
+            bytes = buffer;
+        }
+        bytes.put(chunk).flip();
+        decode(false);
+        bytes.compact();
+    }
+
+    /**
+     * Signals that no more data follows, so the scanner reaches the end of the
+     * input once it has read all fed data.
+     */
+    public void endOfInput() {
+        if (finished) {
+            return;
+        }
+        if (decoder != null && bytes != null) {
+            bytes.flip();
+            decode(true);
+            ensureRoom(16);
+            CharBuffer out = CharBuffer.wrap(data, end, data.length - end);
+            decoder.flush(out);
+            end = out.position();
+        }
+        finished = true;
+    }
+
+    private void decode(boolean last) {
+        // a byte never decodes to more than two chars
+        ensureRoom(bytes.remaining() * 2);
+        CharBuffer out = CharBuffer.wrap(data, end, data.length - end);
+        decoder.decode(bytes, out, last);
+        end = out.position();
+    }
+
+    private void checkOpen() {
+        if (finished) {
+            throw new IllegalStateException("end of input already signalled");
+        }
+    }
+
+    private void ensureRoom(int length) {
+        if (end + length <= data.length) {
+            return;
+        }
+        // everything in front of the mark has been scanned completely
+        int    kept  = end - mark;
+        char[] array = kept + length > data.length ? new char[Math.max(kept + length, data.length << 1)] : data;
+        System.arraycopy(data, mark, array, 0, kept);
+        data    = array;
+        base   += mark;
+        cursor -= mark;
+        end     = kept;
+        mark    = 0;
+    }
+
+    @Override
+    protected int read(int offset, int len) throws IOException {
+        int count = Math.min(len, end - cursor);
+        if (count == 0) {
+            if (finished) {
+                return -1;
+            }
+            throw new NeedMoreInputException();
+        }
+        System.arraycopy(data, cursor, buf, offset, count);
+        cursor += count;
+        return count;
+    }
+
+    /**
+     * Marks the first char the scanner has not consumed yet.
+     */
+    public void mark() {
+        // the unread chars of the scanner are the last ones read from here
+        mark       = cursor - (count - position);
+        markColumn = column;
+    }
+
+    /**
+     * Resets the scanner to the mark. Its buffer is emptied, so the chars
+     * behind the mark are read again.
+     */
+    public void reset() {
+        cursor     = mark;
+        position   = 0;
+        count      = 0;
+        lastCount  = 0;
+        column     = markColumn;
+        fileOffset = base + mark;
+    }
+
+    /**
+     * @return the number of fed chars which have not been read by the scanner
+     */
+    public int available() {
+        return end - cursor;
+    }
+
+    /**
+     * @return the fed chars which have not been read by the scanner
+     */
+    protected CharSequence buffered() {
+        return CharBuffer.wrap(data, cursor, end - cursor);
+    }
+
+    /**
+     * @return the number of fed bytes which could not be decoded yet, because
+     *         they are the start of an incomplete sequence
+     */
+    protected int undecoded() {
+        return bytes == null ? 0 : bytes.position();
+    }
+
+    @Override
+    public Charset getCharset() {
+        return decoder == null ? null : decoder.charset();
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+}
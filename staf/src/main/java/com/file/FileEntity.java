@@ -2,13 +2,25 @@ package com.file; //@date 30.03.2022
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.charset.Charset;
 
 public class FileEntity {
 
     public static final int DEFAULT_BUFFER_SIZE = 8192;
 
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 1 << 26;
+
     public int bufferSize = DEFAULT_BUFFER_SIZE;
 
+    // maximum number of chars requested per read, 0 means 'as much as fits'
+    public int readSize = 0;
+
+    public int maxBufferSize = DEFAULT_MAX_BUFFER_SIZE;
+    public boolean adaptive = true;
+
+    // if set, the entity is only used by one thread and read without locking
+    public boolean confined = false;
+
     public char[] buf = null;
 
     public int position;
@@ -17,21 +29,107 @@ public class FileEntity {
     public int lastCount;
     public int count;
 
-    public int fileOffset = 0;
+    // number of chars read before the last read
+    public long fileOffset = 0;
 
     private Reader reader;
 
     public FileEntity() {
-        buf = new char[DEFAULT_BUFFER_SIZE];
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public FileEntity(int bufferSize) {
+        this(new char[bufferSize]);
+    }
+
+    protected FileEntity(char[] buf) {
+        this.buf = buf;
+        if (buf != null) {
+            bufferSize = buf.length;
+        }
     }
 
     public synchronized int doRead(int offset, int len) throws IOException {
+        return read(offset, len);
+    }
+
+    /**
+     * Reads the next data into the buffer without any locking. Subclasses
+     * override this method instead of {@link #doRead(int, int)}, which only
+     * adds the lock for entities shared between threads.
+     */
+    protected int read(int offset, int len) throws IOException {
         if (getReader() != null) {
             return getReader().read(buf, offset, len);
         }
         throw new IOException("no reader specified");
     }
 
+    public int capacity() {
+        return buf.length;
+    }
+
+    public void compact(int from, int length) {
+        System.arraycopy(buf, from, buf, 0, length);
+    }
+
+    /**
+     * Changes the capacity of this entity. The first {@link #count} chars are
+     * kept, so this method should be called after the remaining data has been
+     * moved to the start of the buffer.
+     */
+    public void resize(int capacity) {
+        char[] array = new char[capacity];
+        System.arraycopy(buf, 0, array, 0, Math.min(count, capacity));
+        buf        = array;
+        bufferSize = capacity;
+    }
+
+    /**
+     * Grows the buffer to at least the given capacity if this entity is
+     * {@link #adaptive}. The capacity is doubled until it fits, but never exceeds
+     * {@link #maxBufferSize}.
+     *
+     * @return true if the buffer can hold the given amount of data
+     */
+    public boolean ensureCapacity(int minCapacity) {
+        int capacity = capacity();
+        if (minCapacity <= capacity) {
+            return true;
+        }
+        if (!adaptive || minCapacity > maxBufferSize) {
+            return false;
+        }
+
+        while (capacity < minCapacity) {
+            capacity = capacity > (maxBufferSize >> 1) ? maxBufferSize : capacity << 1;
+        }
+        resize(capacity);
+        return true;
+    }
+
+    /**
+     * Returns the offset of the first unread char in the underlying bytes,
+     * which is needed to continue at this point with a new entity.
+     *
+     * @param unread the chars read from this entity but not consumed yet
+     * @return the byte offset or -1 if it is not known
+     */
+    public long getByteOffset(CharSequence unread) {
+        return -1;
+    }
+
+    /**
+     * @return the charset of the underlying bytes or null if it is not known
+     */
+    public Charset getCharset() {
+        return null;
+    }
+
+    protected static int encodedLength(CharSequence chars, Charset charset) {
+        return chars.length() == 0 ? 0 : chars.toString().getBytes(charset).length;
+    }
+
     public Reader getReader() {
         return reader;
     }
@@ -40,4 +138,10 @@ public class FileEntity {
         this.reader = reader;
     }
 
+    public void close() throws IOException {
+        if (getReader() != null) {
+            getReader().close();
+        }
+    }
+
 }
@@ -1,41 +1,61 @@
 package com.file; //@date 30.03.2022
 
+import com.file.spec.CharClassTable;
 import com.file.spec.CharSetSpec;
 
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.CharBuffer;
 
 public class FileScanner {
 
     public static final int DEFAULT_SCANNER_BUFFER_SIZE = 64;
 
-    protected FileEntity entity = new FileEntity();
+    protected FileEntity entity;
     protected FragmentFileScanner scanner;
 
     protected CharSetSpec charSet = null;
 
+    // the compiled char set used by the scanning loops
+    protected CharClassTable charClasses = null;
+
+    // the only new line char of the char set, see SearchUtils#findNewLine
+    protected int newLine = SearchUtils.NO_NEW_LINE;
+
+    private final TokenSlice token = new TokenSlice();
+
+    // the last multi-char delimiter, see #compile
+    private Delimiter delimiter;
+
+    // the thread a confined scanner is bound to, only checked with assertions
+    private Thread owner;
+
     public FileScanner(Reader reader) {
+        this(new FileEntity());
         entity.setReader(reader);
     }
 
+    public FileScanner(FileEntity entity) {
+        this.entity = entity;
+    }
+
     protected final boolean load(int offset) throws IOException {
         // refreshing the raw offset position
         entity.fileOffset = entity.fileOffset + entity.lastCount;
 
-        // At first, we have to specify the amount of data to read. This length
-        // is most likely to be > DEFAULT_SCANNER_BUFFER_SIZE, so it will be
-        // the default value (64 bytes).
-        int len = entity.buf.length - offset;
-        if (len > DEFAULT_SCANNER_BUFFER_SIZE) {
-            // this check has to be done because of the capacity being too big
-            len = DEFAULT_SCANNER_BUFFER_SIZE;
+        // At first, we have to specify the amount of data to read. By default
+        // the rest of the buffer is filled, unless the entity limits the size
+        // of a single read.
+        int len = entity.capacity() - offset;
+        if (entity.readSize > 0 && len > entity.readSize) {
+            len = entity.readSize;
         }
         boolean changed = false;
 
         // The reading is delegated by this object and returning the actual number
         // of characters read.
-        int count = entity.doRead(offset, len);
+        int count = read(offset, len);
         if (count != -1) {
             if (count != 0) {
                 entity.position = offset;
@@ -48,17 +68,81 @@ public class FileScanner {
         else {
             entity.position = offset;
             entity.count = offset;
+            entity.lastCount = 0;
             changed = true;
-            //need to close the reader first since the program can end abruptly
-            entity.getReader().close();
-            if (scanner != null) {
-                scanner.endFile();
-            }
-            throw new EOFException();
+            endOfFile();
         }
         return changed;
     }
 
+    /**
+     * Reads the next data through the entity. A {@link FileEntity#confined confined}
+     * entity is read without locking, which is only safe as long as this scanner
+     * is used by one thread. With assertions enabled ({@code -ea}), this is
+     * checked on every read.
+     */
+    protected final int read(int offset, int len) throws IOException {
+        if (entity.confined) {
+            assert checkOwner();
+            return entity.read(offset, len);
+        }
+        return entity.doRead(offset, len);
+    }
+
+    /**
+     * Binds this scanner to the calling thread on the first call and fails if it
+     * is used from any other thread afterwards.
+     */
+    protected final boolean checkOwner() {
+        Thread current = Thread.currentThread();
+        if (owner == null) {
+            owner = current;
+        }
+        else if (owner != current) {
+            throw new IllegalStateException("scanner is confined to thread '" + owner.getName()
+                    + "' but was used by '" + current.getName() + "'");
+        }
+        return true;
+    }
+
+    /**
+     * @return the offset of the next unread char in the whole input or -1 if
+     *         it is not known
+     */
+    public long getCharOffset() {
+        // the unread chars are the last ones read
+        return entity.fileOffset + entity.lastCount - (entity.count - entity.position);
+    }
+
+    /**
+     * @return the offset of the next unread char in the underlying bytes or
+     *         -1 if it is not known
+     * @see FileEntity#getByteOffset(CharSequence)
+     */
+    public long getByteOffset() {
+        return entity.getByteOffset(unread());
+    }
+
+    /**
+     * @return the chars read from the entity but not consumed yet
+     */
+    protected CharSequence unread() {
+        return CharBuffer.wrap(entity.buf, entity.position, entity.count - entity.position);
+    }
+
+    public boolean isConfined() {
+        return entity.confined;
+    }
+
+    protected final void endOfFile() throws IOException {
+        //need to close the reader first since the program can end abruptly
+        entity.close();
+        if (scanner != null) {
+            scanner.endFile();
+        }
+        throw new EOFException();
+    }
+
     protected final void loadIfPossible(int offset) throws IOException {
         if (entity.position == entity.count) {
             load(offset);
@@ -70,56 +154,102 @@ public class FileScanner {
     }
 
     public boolean scanData(String delimiter, StringBuffer buffer, int chunkLimit, boolean stopOnNewLine) throws IOException {
-        boolean done = false;
+        TokenSlice token = this.token;
+        token.clear();
+        try {
+            return scanData(delimiter, token, chunkLimit, stopOnNewLine);
+        } finally {
+            // On EOF the data read so far is the last token of the file
+            if (token.length() > 0) {
+                buffer.append(token.getArray(), token.getOffset(), token.length());
+            }
+        }
+    }
 
-        // collect some information about the delimiter
-        int len = delimiter.length();
-        char c0 = delimiter.charAt(0);
+    public boolean scanData(String delimiter, StringBuilder builder, boolean stopOnNewLine) throws IOException {
+        return scanData(delimiter, builder, 0, stopOnNewLine);
+    }
 
-        do {
-            loadIfPossible(0);
+    /**
+     * Same as {@link #scanData(String, StringBuffer, int, boolean)}, but without
+     * the locking of a {@link StringBuffer}.
+     */
+    public boolean scanData(String delimiter, StringBuilder builder, int chunkLimit, boolean stopOnNewLine) throws IOException {
+        TokenSlice token = this.token;
+        token.clear();
+        try {
+            return scanData(delimiter, token, chunkLimit, stopOnNewLine);
+        } finally {
+            if (token.length() > 0) {
+                builder.append(token.getArray(), token.getOffset(), token.length());
+            }
+        }
+    }
 
-            boolean changed = false;
-            while ((entity.position > entity.count - len) && (!changed)) {
-                // INFO:
-                System.arraycopy(entity.buf, entity.position, entity.buf, 0,
-                                 entity.count - entity.position);
+    public boolean scanData(String delimiter, TokenSlice token, boolean stopOnNewLine) throws IOException {
+        return scanData(delimiter, token, 0, stopOnNewLine);
+    }
 
-                changed = load(entity.count - entity.position);
-                entity.position = 0;
+    public boolean scanData(String delimiter, TokenSlice token, int chunkLimit, boolean stopOnNewLine) throws IOException {
+        return scanData(compile(delimiter), token, chunkLimit, stopOnNewLine);
+    }
+
+    public boolean scanData(Delimiter delimiter, TokenSlice token, boolean stopOnNewLine) throws IOException {
+        return scanData(delimiter, token, 0, stopOnNewLine);
+    }
+
+    /**
+     * Scans until the given delimiter (or a new line) is found and appends the
+     * data in front of it to the given token. If the token fits into the buffer
+     * of this scanner, it is not copied at all.
+     *
+     * @return true if the delimiter was not found
+     */
+    public boolean scanData(Delimiter delimiter, TokenSlice token, int chunkLimit, boolean stopOnNewLine) throws IOException {
+        if (delimiter.length() > 1) {
+            return scanLongDelimiter(delimiter, token, chunkLimit, stopOnNewLine);
+        }
+
+        boolean done = false;
+        char    c0   = delimiter.first();
+
+        int appended = 0;
+
+        // Candidates for the delimiter or a line break are located with a
+        // fast search first, the loop below only has to confirm them.
+        boolean fast = !stopOnNewLine || newLine != SearchUtils.MULTIPLE_NEW_LINES;
+        char    c1   = stopOnNewLine && newLine >= 0 ? (char) newLine : c0;
+
+        do {
+            // the buffer is about to be overwritten
+            token.detach();
+            if (entity.position == entity.count && appended > entity.capacity() >> 1) {
+                // A token spanning more than half of the buffer is likely to
+                // be followed by others of the same size. The buffer is empty
+                // and the token detached, so nothing has to be kept.
+                entity.position = entity.count = 0;
+                entity.ensureCapacity(entity.capacity() << 1);
             }
+            loadIfPossible(0);
 
             int offset = entity.position;
-            char c = entity.buf[offset];
+            int length = -1;
             // iterating over the given buffer while looking for the given delimiter
-            DELIM_CHECK: while (entity.position < entity.count) {
-                c = entity.buf[entity.position++];
-                if (c == c0) {
-                    int delimOffset = entity.position - 1;
-                    for (int i = 1; i < len; i++) {
-                        if (entity.position == entity.count) {
-                            entity.position--;
-                            break DELIM_CHECK;
-                        }
-                        else if (charSet.isNewLine(c)) {
-                            if (stopOnNewLine) {
-                                entity.position--;
-                                break DELIM_CHECK;
-                            }
-                        }
-                        c = entity.buf[entity.position++];
-                        if (delimiter.charAt(i) != c) {
-                            entity.position--;
-                            break;
-                        }
-                    }
-                    if (entity.position == delimOffset + len) {
-                      // We found the delimiter string in the given text
-                        done = true;
+            while (entity.position < entity.count) {
+                if (fast) {
+                    entity.position = SearchUtils.indexOf(entity.buf, entity.position, entity.count, c0, c1);
+                    if (entity.position == entity.count) {
                         break;
                     }
                 }
-                else if (charSet.isNewLine(c)) {
+                char c = entity.buf[entity.position++];
+                if (c == c0) {
+                    // We found the delimiter in the given text
+                    length = entity.position - 1 - offset;
+                    done = true;
+                    break;
+                }
+                else if (charClasses.isNewLine(c)) {
                     if (stopOnNewLine) {
                         entity.position--;
                         done = true;
@@ -128,22 +258,144 @@ public class FileScanner {
                 }
             }
 
-            int length = entity.position - offset;
-            if (done) {
-                length -= delimiter.length();
+            if (length == -1) {
+                length = entity.position - offset;
+            }
+            token.append(entity.buf, offset, length);
+            appended += length;
+            if (chunkLimit > 0 && appended >= chunkLimit) {
+                break;
+            }
+        } while (!done && chunkLimit == 0);
+        return !done;
+    }
+
+    /**
+     * Skips the data up to the given delimiter (or a new line) the same way
+     * {@link #scanData(Delimiter, TokenSlice, boolean)} does, but the data is
+     * neither copied nor decoded.
+     *
+     * @return true if the delimiter was not found
+     */
+    public boolean skipData(Delimiter delimiter, boolean stopOnNewLine) throws IOException {
+        return scanData(delimiter, TokenSlice.DISCARD, 0, stopOnNewLine);
+    }
+
+    private boolean scanLongDelimiter(Delimiter delimiter, TokenSlice token, int chunkLimit, boolean stopOnNewLine) throws IOException {
+        boolean done     = false;
+        boolean needMore = false;
+
+        int len = delimiter.length();
+        int appended = 0;
+
+        do {
+            // the buffer is about to be overwritten
+            token.detach();
+            if (needMore) {
+                // The remaining chars might be the start of the delimiter, so
+                // they are moved to the start of the buffer and completed.
+                int remaining = entity.count - entity.position;
+                entity.compact(entity.position, remaining);
+                entity.count    = remaining;
+                entity.position = 0;
+
+                // A token spanning more than half of the buffer is likely to
+                // be followed by others of the same size, so the buffer grows
+                // to keep them in one window.
+                if (appended > entity.capacity() >> 1 || remaining == entity.capacity()) {
+                    entity.ensureCapacity(entity.capacity() << 1);
+                }
+
+                try {
+                    load(remaining);
+                } catch (EOFException e) {
+                    // the kept chars are the end of the last token
+                    token.append(entity.buf, 0, remaining);
+                    throw e;
+                }
+                entity.position = 0;
+                needMore = false;
+            }
+            else loadIfPossible(0);
+
+            int offset = entity.position;
+            int index  = delimiter.indexOf(entity.buf, offset, entity.count);
+            int end    = index;
+            if (stopOnNewLine) {
+                int lineEnd = indexOfNewLine(entity.buf, offset, index == -1 ? entity.count : index);
+                if (lineEnd != -1) {
+                    entity.position = end = lineEnd;
+                    done = true;
+                }
             }
-            buffer.append(entity.buf, offset, length);
-            if (chunkLimit > 0 && buffer.length() >= chunkLimit) {
+            if (!done) {
+                if (index != -1) {
+                    entity.position = index + len;
+                    done = true;
+                } else {
+                    // the last chars are kept for the next round
+                    entity.position = end = Math.max(offset, entity.count - len + 1);
+                    needMore = true;
+                }
+            }
+
+            int length = end - offset;
+            token.append(entity.buf, offset, length);
+            appended += length;
+            if (chunkLimit > 0 && appended >= chunkLimit) {
                 break;
             }
         } while (!done && chunkLimit == 0);
         return !done;
     }
 
+    /**
+     * Returns the index of the first new line char in {@code [from, to)} or
+     * {@code -1} if there is none.
+     */
+    protected final int indexOfNewLine(char[] buf, int from, int to) {
+        if (newLine == SearchUtils.MULTIPLE_NEW_LINES) {
+            for (int i = from; i < to; i++) {
+                if (charClasses.isNewLine(buf[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // only chars above 0xFF have to be confirmed
+        char c = newLine >= 0 ? (char) newLine : 0;
+        for (int i = from; (i = SearchUtils.indexOf(buf, i, to, c, c)) < to; i++) {
+            if (charClasses.isNewLine(buf[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the compiled form of the given delimiter. The last multi-char
+     * delimiter is cached, single chars are always shared.
+     */
+    protected final Delimiter compile(String delimiter) {
+        Delimiter compiled = this.delimiter;
+        if (compiled == null || !compiled.toString().equals(delimiter)) {
+            compiled = Delimiter.compile(delimiter);
+            if (compiled.length() > 1) {
+                this.delimiter = compiled;
+            }
+        }
+        return compiled;
+    }
+
     public boolean skip(String s) throws IOException {
         return skip(s.toCharArray());
     }
 
+    public boolean skip(Delimiter delimiter) throws IOException {
+        return skip(delimiter.chars);
+    }
+
     public boolean skip(char[] s) throws IOException {
         final int len = s.length;
         if (arrangeBuffer(len)) {
@@ -172,15 +424,15 @@ public class FileScanner {
         char x = entity.buf[entity.position];
         if (x == c) {
             entity.position++;
-            if (charSet.isNewLine(c)) {
+            if (charClasses.isNewLine(c)) {
                 entity.column = 1;
             } else entity.column++;
             return true;
         }
-        else if (charSet.isNewLine(c)) {
+        else if (charClasses.isNewLine(c)) {
             loadIfPossible(0);
             entity.position++;
-            if (charSet.isNewLine(entity.buf[entity.position])) {
+            if (charClasses.isNewLine(entity.buf[entity.position])) {
                 entity.position++;
             }
             entity.column = 1;
@@ -196,11 +448,15 @@ public class FileScanner {
 
         boolean changed = false;
         while ((entity.count - entity.position) < length) {
-            if ((entity.buf.length - entity.position) < length) {
-                System.arraycopy(entity.buf, entity.position, entity.buf, 0,
-                                 entity.count - entity.position);
+            if ((entity.capacity() - entity.position) < length) {
+                entity.compact(entity.position, entity.count - entity.position);
                 entity.count = entity.count - entity.position;
                 entity.position = 0;
+
+                // the requested data does not fit into the buffer at all
+                if (!entity.ensureCapacity(length)) {
+                    break;
+                }
             }
 
             if ((entity.count- entity.position) < length) {
@@ -218,9 +474,9 @@ public class FileScanner {
 
         char c = entity.buf[entity.position];
         boolean changed = false;
-        if (charSet.isSpace(c)) {
+        if (charClasses.isSpace(c)) {
             do {
-                if (charSet.isNewLine(c)) {
+                if (charClasses.isNewLine(c)) {
                     entity.column = 1;
 
                     if (entity.position == entity.count - 1) {
@@ -235,14 +491,16 @@ public class FileScanner {
                     entity.position++;
                 }
                 loadIfPossible(0);
-            } while (charSet.isSpace(c = entity.buf[entity.position]));
+            } while (charClasses.isSpace(c = entity.buf[entity.position]));
             return true;
         }
         return false;
     }
 
     public void setCharSet(CharSetSpec charSet) {
-        this.charSet = charSet;
+        this.charSet     = charSet;
+        this.charClasses = charSet == null ? null : CharClassTable.of(charSet);
+        this.newLine     = charSet == null ? SearchUtils.NO_NEW_LINE : SearchUtils.findNewLine(charClasses, 0xFF);
     }
 
     public CharSetSpec getCharSet() {
@@ -1,27 +1,171 @@
 package com.file; //@date 30.03.2022
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.text.ParseException;
+import java.util.BitSet;
 
 public abstract class FragmentFileScanner {
 
+    /**
+     * Returned by {@link #next()} if the scanner reads from a {@link FeedFileEntity}
+     * and all data fed so far has been consumed, like an {@link AsyncFileEntity}
+     * waiting for its channel.
+     */
+    public static final int NEED_MORE_INPUT = -2;
+
+    /**
+     * Returned by {@link #next()} if an {@link #setEventFilter(int...) event filter}
+     * is set and the remaining events of the input have been skipped.
+     */
+    public static final int NO_EVENT = -3;
+
     protected int state;
     protected int eventType;
 
     protected FileScanner scanner;
     protected FragmentDriver driver;
     protected StringBuffer buffer;
+    protected TokenSlice token;
+
+    // not null in feeder mode
+    private FeedFileEntity feed;
+
+    // the accepted event types, null if all events are accepted
+    private BitSet eventFilter;
+
+    private int            markState;
+    private int            markEventType;
+    private FragmentDriver markDriver;
 
     public FragmentFileScanner(FileScanner scanner) {
         setScanner(scanner);
         buffer = new StringBuffer();
+        token  = new TokenSlice();
         scanner.setDelegatedScanner(this);
     }
 
     public abstract void endFile() throws IOException;
 
     public int next() throws IOException, ParseException {
-        return driver.next();
+        assert !scanner.isConfined() || scanner.checkOwner();
+        int type;
+        do {
+            // events without text must not report the text of the last one
+            token.clear();
+            type = feed == null ? driver.next() : nextFed();
+        } while (!accepts(type) && hasNext());
+        return accepts(type) ? type : NO_EVENT;
+    }
+
+    private int nextFed() throws IOException, ParseException {
+        mark();
+        try {
+            return driver.next();
+        } catch (NeedMoreInputException e) {
+            // the event is scanned again once more data has been fed
+            reset();
+            token.clear();
+            return NEED_MORE_INPUT;
+        }
+    }
+
+    /**
+     * Restricts the events returned by {@link #next()} to the given types, all
+     * other events are skipped. Drivers can use {@link #accepts(int)} to skip
+     * the text of unwanted events without copying it. Without any types all
+     * events are accepted.
+     */
+    public void setEventFilter(int... types) {
+        if (types == null || types.length == 0) {
+            eventFilter = null;
+            return;
+        }
+        BitSet filter = new BitSet();
+        for (int type : types) {
+            filter.set(type);
+        }
+        eventFilter = filter;
+    }
+
+    /**
+     * @return true if events of the given type pass the event filter, which
+     *         is always the case for the negative status codes
+     */
+    public boolean accepts(int type) {
+        return eventFilter == null || type < 0 || eventFilter.get(type);
+    }
+
+    /**
+     * Remembers the state of this scanner and its input at the start of an
+     * event in feeder mode. Subclasses with own state have to save it as well.
+     */
+    protected void mark() {
+        markState     = state;
+        markEventType = eventType;
+        markDriver    = driver;
+        feed.mark();
+    }
+
+    /**
+     * Restores the state saved by {@link #mark()}.
+     */
+    protected void reset() {
+        state     = markState;
+        eventType = markEventType;
+        driver    = markDriver;
+        feed.reset();
+    }
+
+    /**
+     * Returns the current position and state, which is only consistent between
+     * two calls of {@link #next()}. Subclasses with own state have to add it.
+     */
+    public Checkpoint checkpoint() {
+        FileEntity entity  = scanner.getEntity();
+        Charset    charset = entity.getCharset();
+        return new Checkpoint(scanner.getCharOffset(), scanner.getByteOffset(), charset == null ? null : charset.name(),
+                              getRow(), getColumn(), state, entity.column);
+    }
+
+    /**
+     * Continues with the state of the given checkpoint. The scanner has to be
+     * positioned at the offset of the checkpoint already.
+     */
+    public void restore(Checkpoint checkpoint) {
+        state = checkpoint.getState();
+        scanner.getEntity().column = checkpoint.getEntityColumn();
+    }
+
+    /**
+     * @return true if the data is fed by the caller, see {@link FeedFileEntity}
+     */
+    public boolean isFeeding() {
+        return feed != null;
+    }
+
+    public void feed(char[] chunk, int offset, int length) {
+        getFeed().feed(chunk, offset, length);
+    }
+
+    public void feed(CharSequence chunk) {
+        getFeed().feed(chunk);
+    }
+
+    public void feed(ByteBuffer chunk) {
+        getFeed().feed(chunk);
+    }
+
+    public void endOfInput() {
+        getFeed().endOfInput();
+    }
+
+    private FeedFileEntity getFeed() {
+        if (feed == null) {
+            throw new IllegalStateException("the scanner does not read from a FeedFileEntity");
+        }
+        return feed;
     }
 
     public void setState(int state) {
@@ -38,6 +182,7 @@ public abstract class FragmentFileScanner {
 
     public void setScanner(FileScanner scanner) {
         this.scanner = scanner;
+        this.feed    = scanner.getEntity() instanceof FeedFileEntity ? (FeedFileEntity) scanner.getEntity() : null;
     }
 
     public void setDriver(FragmentDriver driver) {
@@ -52,6 +197,20 @@ public abstract class FragmentFileScanner {
         return eventType;
     }
 
+    /**
+     * @return the row of the current event or -1 if rows are not tracked
+     */
+    public int getRow() {
+        return -1;
+    }
+
+    /**
+     * @return the column of the current event or -1 if columns are not tracked
+     */
+    public int getColumn() {
+        return -1;
+    }
+
     public boolean hasNext() throws IOException {
         return getEventType() != -1;
     }
@@ -63,11 +222,36 @@ public abstract class FragmentFileScanner {
     public StringBuffer getBuffer(boolean clear) {
         if (clear) {
             buffer.delete(0, buffer.length());
+            token.clear();
         }
         return buffer;
     }
 
+    /**
+     * Returns the token the drivers scan into. Other than {@link #getBuffer(boolean)}
+     * the token is usually a view on the scanner buffer.
+     *
+     * @see TokenSlice
+     */
+    public TokenSlice getToken(boolean clear) {
+        if (clear) {
+            token.clear();
+            if (buffer.length() > 0) {
+                buffer.delete(0, buffer.length());
+            }
+        }
+        return token;
+    }
+
+    /**
+     * Returns the text of the current token without copying it. The returned
+     * sequence is only valid until the next call to {@link #next()}.
+     */
+    public CharSequence getText() {
+        return buffer.length() > 0 ? buffer : token;
+    }
+
     public String getTextElement() {
-        return getBuffer(false).toString();
+        return getText().toString();
     }
 }
@@ -2,21 +2,215 @@ package com.file; //@date 30.03.2022
 
 import com.file.stream.EventAllocator;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.charset.Charset;
 
 public abstract class InputFactory {
 
+    private int     bufferSize    = FileEntity.DEFAULT_BUFFER_SIZE;
+    private int     readSize      = 0;
+    private int     maxBufferSize = FileEntity.DEFAULT_MAX_BUFFER_SIZE;
+    private boolean adaptive      = true;
+    private boolean ringBuffer    = false;
+    private boolean confined      = false;
+    private boolean prefetch      = false;
+    private boolean recycleEvents = false;
+
     public abstract EventAllocator getEventAllocator();
 
     public abstract EventAllocator newEventAllocator();
 
+    /**
+     * Creates a new allocator which reuses one event per type if {@code recycle}
+     * is set. Factories without a recycling allocator return a plain one.
+     *
+     * @see com.file.stream.LangEvent
+     */
+    public EventAllocator newEventAllocator(boolean recycle) {
+        return newEventAllocator();
+    }
+
     public FileScanner createFileScanner(Reader reader) {
-        return new FileScanner(reader);
+        FileEntity entity = configure(prefetch ? new PrefetchFileEntity(bufferSize) : new FileEntity(bufferSize));
+        entity.setReader(reader);
+        return newFileScanner(entity);
+    }
+
+    public FileScanner createFileScanner(File file) throws IOException {
+        return newFileScanner(configure(new MappedFileEntity(file)));
+    }
+
+    public FileScanner createFileScanner(InputStream input, Charset charset) {
+        return new ByteFileScanner(configure(new ByteFileEntity(input, charset, bufferSize)));
+    }
+
+    /**
+     * Creates a scanner reading from the given channel with completion handlers.
+     * It does not wait for a pending read, see {@link AsyncFileEntity}.
+     */
+    public FileScanner createFileScanner(AsynchronousFileChannel channel, Charset charset) {
+        return newFileScanner(configure(new AsyncFileEntity(channel, charset, bufferSize)));
+    }
+
+    /**
+     * Creates a scanner which is fed with chars by the caller, see {@link FeedFileEntity}.
+     */
+    public FileScanner createFeedFileScanner() {
+        return createFeedFileScanner(null);
+    }
+
+    /**
+     * Creates a scanner which is fed with chars or bytes of the given charset by
+     * the caller, see {@link FeedFileEntity}.
+     */
+    public FileScanner createFeedFileScanner(Charset charset) {
+        return newFileScanner(configure(new FeedFileEntity(charset, bufferSize)));
+    }
+
+    /**
+     * Creates a scanner for the given entity, which is configured with the
+     * settings of this factory first.
+     */
+    public FileScanner createFileScanner(FileEntity entity) {
+        configure(entity);
+        if (entity instanceof ByteFileEntity) {
+            return new ByteFileScanner((ByteFileEntity) entity);
+        }
+        return newFileScanner(entity);
     }
 
     public FragmentFileScanner createFragmentFileScanner(Reader reader) {
         return createFragmentFileScanner(createFileScanner(reader));
     }
 
+    public FragmentFileScanner createFragmentFileScanner(File file) throws IOException {
+        return createFragmentFileScanner(createFileScanner(file));
+    }
+
+    public FragmentFileScanner createFragmentFileScanner(InputStream input, Charset charset) {
+        return createFragmentFileScanner(createFileScanner(input, charset));
+    }
+
+    public FragmentFileScanner createFragmentFileScanner(AsynchronousFileChannel channel, Charset charset) {
+        return createFragmentFileScanner(createFileScanner(channel, charset));
+    }
+
     public abstract FragmentFileScanner createFragmentFileScanner(FileScanner scanner);
+
+    protected FileScanner newFileScanner(FileEntity entity) {
+        return ringBuffer ? new RingFileScanner(entity) : new FileScanner(entity);
+    }
+
+    protected <E extends FileEntity> E configure(E entity) {
+        if (entity.capacity() != bufferSize) {
+            entity.resize(bufferSize);
+        }
+        entity.readSize      = readSize;
+        entity.maxBufferSize = Math.max(maxBufferSize, bufferSize);
+        entity.adaptive      = adaptive;
+        entity.confined      = confined;
+        return entity;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("invalid buffer size: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    public int getReadSize() {
+        return readSize;
+    }
+
+    /**
+     * Limits the amount of chars (or bytes) requested from the source with a
+     * single read. A value of {@code 0} fills the whole remaining buffer.
+     */
+    public void setReadSize(int readSize) {
+        this.readSize = Math.max(readSize, 0);
+    }
+
+    public int getMaxBufferSize() {
+        return maxBufferSize;
+    }
+
+    public void setMaxBufferSize(int maxBufferSize) {
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Enables or disables growing the buffer of created scanners when a token
+     * does not fit into it.
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public boolean isRingBuffer() {
+        return ringBuffer;
+    }
+
+    /**
+     * If enabled, char based scanners use their buffer as a ring instead of
+     * moving the remaining data to the start of the buffer before each read.
+     *
+     * @see RingFileScanner
+     */
+    public void setRingBuffer(boolean ringBuffer) {
+        this.ringBuffer = ringBuffer;
+    }
+
+    public boolean isConfined() {
+        return confined;
+    }
+
+    /**
+     * If enabled, created scanners read from their source without locking. Such
+     * a scanner must only be used by the thread that started reading from it,
+     * which is checked if assertions are enabled.
+     */
+    public void setConfined(boolean confined) {
+        this.confined = confined;
+    }
+
+    public boolean isPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * If enabled, scanners created for a {@link Reader} read ahead in a background
+     * thread, so that reading and parsing overlap.
+     *
+     * @see PrefetchFileEntity
+     */
+    public void setPrefetch(boolean prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    public boolean isRecycleEvents() {
+        return recycleEvents;
+    }
+
+    /**
+     * If enabled, streams configured with this factory use their own recycling
+     * allocator, so an event is only valid until the next one is requested.
+     *
+     * @see #newEventAllocator(boolean)
+     */
+    public void setRecycleEvents(boolean recycleEvents) {
+        this.recycleEvents = recycleEvents;
+    }
 }
\ No newline at end of file
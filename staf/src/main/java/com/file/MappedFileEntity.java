@@ -0,0 +1,153 @@
+package com.file; //@date 18.10.2026
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link FileEntity} that maps the underlying file with {@link FileChannel#map}
+ * instead of pulling it through a {@link java.io.Reader}. Only a sliding window
+ * of the file is mapped at a time and the bytes are decoded straight into
+ * {@link FileEntity#buf}, so no intermediate reader buffers are involved.
+ * <p>
+ * Malformed input is replaced the same way a {@link java.io.FileReader} would
+ * do it.
+ */
+public class MappedFileEntity extends FileEntity {
+
+    public static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+    private final FileChannel    channel;
+    private final CharsetDecoder decoder;
+
+    private final long start;
+    private final long end;
+    private final long windowSize;
+
+    // false if the channel is shared with other entities
+    private final boolean closeChannel;
+
+    private MappedByteBuffer window;
+    private long windowOffset;
+
+    private boolean eof;
+
+    public MappedFileEntity(File file) throws IOException {
+        this(file, Charset.defaultCharset());
+    }
+
+    public MappedFileEntity(File file, Charset charset) throws IOException {
+        this(FileChannel.open(file.toPath(), StandardOpenOption.READ), charset);
+    }
+
+    public MappedFileEntity(FileChannel channel, Charset charset) throws IOException {
+        this(channel, charset, 0, channel.size(), DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedFileEntity(FileChannel channel, Charset charset, long start, long end, long windowSize) {
+        this(channel, charset, start, end, windowSize, true);
+    }
+
+    /**
+     * Creates an entity for the range {@code [start, end)} of the given channel.
+     * If {@code closeChannel} is false, the channel stays open when this entity
+     * is closed, so several entities can read different ranges of one channel.
+     */
+    public MappedFileEntity(FileChannel channel, Charset charset, long start, long end, long windowSize, boolean closeChannel) {
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("invalid range: [" + start + ", " + end + ")");
+        }
+        if (windowSize <= 0 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("invalid window size: " + windowSize);
+        }
+        this.channel      = channel;
+        this.start        = start;
+        this.end          = end;
+        this.closeChannel = closeChannel;
+        this.windowSize   = windowSize;
+        this.windowOffset = start;
+        this.decoder      = charset.newDecoder()
+                                   .onMalformedInput(CodingErrorAction.REPLACE)
+                                   .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    protected int read(int offset, int len) throws IOException {
+        if (eof) {
+            return -1;
+        }
+
+        CharBuffer out = CharBuffer.wrap(buf, offset, len);
+        if (window == null) {
+            map(windowOffset);
+        }
+
+        while (out.hasRemaining()) {
+            boolean last = windowOffset + window.limit() >= end;
+
+            CoderResult result = decoder.decode(window, out, last);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (result.isOverflow()) {
+                break;
+            }
+            // Underflow: either the whole window was decoded or there is an
+            // incomplete sequence left at the end of it. In the latter case the
+            // next window starts at the first undecoded byte.
+            if (last) {
+                decoder.flush(out);
+                eof = true;
+                break;
+            }
+            map(windowOffset + window.position());
+        }
+
+        int count = out.position() - offset;
+        return count == 0 && eof ? -1 : count;
+    }
+
+    private void map(long offset) throws IOException {
+        long size = Math.min(windowSize, end - offset);
+        window       = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        windowOffset = offset;
+    }
+
+    public FileChannel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public long getByteOffset(CharSequence unread) {
+        long decoded = eof ? end : window == null ? windowOffset : windowOffset + window.position();
+        return decoded - encodedLength(unread, getCharset());
+    }
+
+    @Override
+    public Charset getCharset() {
+        return decoder.charset();
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        if (closeChannel) {
+            channel.close();
+        }
+    }
+}
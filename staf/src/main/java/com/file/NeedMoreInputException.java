@@ -0,0 +1,18 @@
+package com.file; //@date 18.10.2026
+
+import java.io.IOException;
+
+/**
+ * Thrown by a {@link FeedFileEntity} if all chars fed so far have been read,
+ * but the end of the input has not been signalled yet. The scanner is reset to
+ * the start of the current event, so the event is scanned again once more data
+ * has been fed.
+ */
+public class NeedMoreInputException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public NeedMoreInputException() {
+        super("more input needed");
+    }
+}
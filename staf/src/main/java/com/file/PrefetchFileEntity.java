@@ -0,0 +1,138 @@
+package com.file; //@date 18.10.2026
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A {@link FileEntity} that reads ahead: a background thread fills the next chunk
+ * from the {@link Reader} while the scanner is working on the current one. Two
+ * chunks are used (double buffering), so reading and parsing overlap, but the
+ * reader is never more than one chunk ahead.
+ * <p>
+ * The background thread is started on the first read. The end of the input is
+ * reported the same way as by a plain {@link FileEntity}, so the scanner closes
+ * this entity (which stops the thread) and notifies its fragment scanner.
+ */
+public class PrefetchFileEntity extends FileEntity {
+
+    private static final int CHUNKS = 2;
+
+    private final BlockingQueue<Chunk>  filled = new ArrayBlockingQueue<>(CHUNKS);
+    private final BlockingQueue<char[]> free   = new ArrayBlockingQueue<>(CHUNKS);
+
+    private final ThreadFactory threadFactory;
+
+    private Thread worker;
+    private volatile boolean closed;
+
+    // the chunk the scanner is currently copying from
+    private Chunk current;
+    private int   currentPosition;
+
+    public PrefetchFileEntity() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public PrefetchFileEntity(int bufferSize) {
+        this(bufferSize, ThreadFactories.newThreadFactory("prefetch"));
+    }
+
+    public PrefetchFileEntity(int bufferSize, ThreadFactory threadFactory) {
+        super(bufferSize);
+        this.threadFactory = threadFactory;
+        for (int i = 0; i < CHUNKS; i++) {
+            free.add(new char[bufferSize]);
+        }
+    }
+
+    @Override
+    protected int read(int offset, int len) throws IOException {
+        if (current == null) {
+            if (worker == null) {
+                start();
+            }
+            current = take();
+            currentPosition = 0;
+        }
+        if (current.error != null) {
+            throw current.error;
+        }
+        if (current.length == -1) {
+            // the end chunk is kept, so every following read returns -1
+            return -1;
+        }
+
+        int count = Math.min(len, current.length - currentPosition);
+        System.arraycopy(current.data, currentPosition, buf, offset, count);
+        currentPosition += count;
+        if (currentPosition == current.length) {
+            // hand the chunk back to the reading thread
+            free.add(current.data);
+            current = null;
+        }
+        return count;
+    }
+
+    private void start() throws IOException {
+        final Reader reader = getReader();
+        if (reader == null) {
+            throw new IOException("no reader specified");
+        }
+        worker = threadFactory.newThread(() -> prefetch(reader));
+        worker.start();
+    }
+
+    private void prefetch(Reader reader) {
+        try {
+            while (!closed) {
+                char[] data  = free.take();
+                int    count = reader.read(data, 0, data.length);
+                // Never blocks: the chunk taken above was not in this queue.
+                filled.put(new Chunk(data, count, null));
+                if (count == -1) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                filled.offer(new Chunk(null, -1, e));
+            }
+        } catch (InterruptedException e) {
+            // closed while waiting for a free chunk
+        }
+    }
+
+    private Chunk take() throws IOException {
+        try {
+            return filled.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for data");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (worker != null) {
+            worker.interrupt();
+        }
+        super.close();
+    }
+
+    private static final class Chunk {
+        final char[]      data;
+        final int         length;
+        final IOException error;
+
+        Chunk(char[] data, int length, IOException error) {
+            this.data   = data;
+            this.length = length;
+            this.error  = error;
+        }
+    }
+}
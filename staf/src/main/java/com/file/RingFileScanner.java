@@ -0,0 +1,309 @@
+package com.file; //@date 18.10.2026
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A {@link FileScanner} that uses the buffer of its {@link FileEntity} as a ring.
+ * <p>
+ * {@link FileEntity#position} and {@link FileEntity#count} are logical indices
+ * which are mapped onto the buffer with a bit mask, so the capacity is always a
+ * power of two. New data is written behind the last char that was read, wrapping
+ * around at the end of the buffer. Therefore, the remaining data is never shifted
+ * to the start of the buffer. A token crossing the end of the buffer is appended
+ * as two segments.
+ * <p>
+ * The ring works with every char based entity, e.g. a plain {@link FileEntity}
+ * or a {@link MappedFileEntity}.
+ */
+public class RingFileScanner extends FileScanner {
+
+    // logical indices are moved back once they reach this value, so they
+    // never overflow
+    private static final int REBASE_THRESHOLD = 1 << 30;
+
+    private int mask;
+
+    public RingFileScanner(Reader reader) {
+        this(new FileEntity());
+        entity.setReader(reader);
+    }
+
+    public RingFileScanner(FileEntity entity) {
+        super(entity);
+        if (entity.buf == null) {
+            throw new IllegalArgumentException("entity without char buffer");
+        }
+        int capacity = entity.capacity();
+        if (Integer.bitCount(capacity) != 1) {
+            entity.resize(Integer.highestOneBit(capacity) << 1);
+        }
+        mask = entity.capacity() - 1;
+    }
+
+    private void fill() throws IOException {
+        entity.fileOffset = entity.fileOffset + entity.lastCount;
+        if (entity.position >= REBASE_THRESHOLD) {
+            int shift = entity.position & ~mask;
+            entity.position -= shift;
+            entity.count    -= shift;
+        }
+
+        int free = entity.capacity() - (entity.count - entity.position);
+        if (free == 0) {
+            // only possible if more data is requested than the buffer can hold
+            if (!grow(entity.capacity() << 1)) {
+                throw new IOException("buffer limit reached: " + entity.maxBufferSize);
+            }
+            free = entity.capacity() - (entity.count - entity.position);
+        }
+
+        // Only the contiguous part behind 'count' is read. If the free space
+        // wraps around, the rest is filled on the next call.
+        int offset = entity.count & mask;
+        int len    = Math.min(free, entity.capacity() - offset);
+        if (entity.readSize > 0 && len > entity.readSize) {
+            len = entity.readSize;
+        }
+
+        int count = read(offset, len);
+        if (count == -1) {
+            entity.lastCount = 0;
+            endOfFile();
+        }
+        entity.count += count;
+        entity.lastCount = count;
+    }
+
+    private boolean grow(int minCapacity) {
+        if (!entity.adaptive || minCapacity > entity.maxBufferSize) {
+            return false;
+        }
+        int capacity = entity.capacity();
+        while (capacity < minCapacity) {
+            capacity <<= 1;
+        }
+
+        // The logical indices stay the same, only the chars between position
+        // and count have to be moved to their new slots.
+        char[] array = new char[capacity];
+        int newMask = capacity - 1;
+        for (int i = entity.position; i < entity.count; ) {
+            int from = i & mask, to = i & newMask;
+            int len  = Math.min(entity.count - i, Math.min(entity.capacity() - from, capacity - to));
+            System.arraycopy(entity.buf, from, array, to, len);
+            i += len;
+        }
+        entity.buf        = array;
+        entity.bufferSize = capacity;
+        mask = newMask;
+        return true;
+    }
+
+    private void loadIfPossible() throws IOException {
+        if (entity.position == entity.count) {
+            fill();
+        }
+    }
+
+    private void append(TokenSlice token, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        int from = offset & mask;
+        int head = Math.min(length, entity.capacity() - from);
+        token.append(entity.buf, from, head);
+        if (head < length) {
+            // the token crosses the end of the buffer, which means it is
+            // copied once
+            token.append(entity.buf, 0, length - head);
+        }
+    }
+
+    @Override
+    public boolean scanData(Delimiter delimiter, TokenSlice token, int chunkLimit, boolean stopOnNewLine) throws IOException {
+        boolean done     = false;
+        boolean found    = false;
+        boolean needMore = false;
+
+        // collect some information about the delimiter
+        int  len = delimiter.length();
+        char c0  = delimiter.first();
+
+        int appended = 0;
+
+        // see FileScanner#scanData
+        boolean fast = !stopOnNewLine || newLine != SearchUtils.MULTIPLE_NEW_LINES;
+        char    c1   = stopOnNewLine && newLine >= 0 ? (char) newLine : c0;
+        do {
+            // new data may be written to the slots of the token
+            token.detach();
+            if (needMore) {
+                // the remaining chars are the start of the delimiter
+                try {
+                    fill();
+                } catch (EOFException e) {
+                    // the remaining chars are the end of the last token
+                    append(token, entity.position, entity.count - entity.position);
+                    throw e;
+                }
+                needMore = false;
+            }
+            else loadIfPossible();
+
+            char[] buf    = entity.buf;
+            int    offset = entity.position;
+            // iterating over the given buffer while looking for the given delimiter
+            DELIM_CHECK: while (entity.position < entity.count) {
+                if (fast) {
+                    // only the contiguous part up to the end of the buffer
+                    // can be searched at once
+                    int from = entity.position & mask;
+                    int to   = from + Math.min(entity.count - entity.position, buf.length - from);
+
+                    int index = SearchUtils.indexOf(buf, from, to, c0, c1);
+                    entity.position += index - from;
+                    if (index == to) {
+                        // nothing found, go on with the wrapped part (if any)
+                        continue;
+                    }
+                }
+                char c = buf[entity.position++ & mask];
+                if (c == c0) {
+                    int delimOffset = entity.position - 1;
+                    for (int i = 1; i < len; i++) {
+                        if (entity.position == entity.count) {
+                            // the rest of the buffer might be the start of the delimiter
+                            entity.position = delimOffset;
+                            needMore = true;
+                            break DELIM_CHECK;
+                        }
+                        else if (charClasses.isNewLine(c)) {
+                            if (stopOnNewLine) {
+                                entity.position--;
+                                break DELIM_CHECK;
+                            }
+                        }
+                        c = buf[entity.position++ & mask];
+                        if (delimiter.charAt(i) != c) {
+                            // go on with the char behind the candidate
+                            entity.position = delimOffset + 1;
+                            break;
+                        }
+                    }
+                    if (entity.position == delimOffset + len) {
+                        // We found the delimiter string in the given text
+                        done  = true;
+                        found = true;
+                        break;
+                    }
+                }
+                else if (charClasses.isNewLine(c)) {
+                    if (stopOnNewLine) {
+                        entity.position--;
+                        done = true;
+                        break;
+                    }
+                }
+            }
+
+            int length = entity.position - offset;
+            if (found) {
+                length -= len;
+            }
+            append(token, offset, length);
+            appended += length;
+            if (chunkLimit > 0 && appended >= chunkLimit) {
+                break;
+            }
+        } while (!done && chunkLimit == 0);
+        return !done;
+    }
+
+    @Override
+    protected CharSequence unread() {
+        StringBuilder unread = new StringBuilder(entity.count - entity.position);
+        for (int i = entity.position; i < entity.count; i++) {
+            unread.append(entity.buf[i & mask]);
+        }
+        return unread;
+    }
+
+    @Override
+    public boolean skip(char[] s) throws IOException {
+        final int len = s.length;
+        if (arrangeBuffer(len)) {
+            int before = entity.position;
+            for (char c : s) {
+                if (!(entity.buf[before++ & mask] == c)) {
+                    return false;
+                }
+            }
+
+            entity.position = entity.position + len;
+            entity.column += len;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public char peekChar() throws IOException {
+        loadIfPossible();
+        return entity.buf[entity.position & mask];
+    }
+
+    @Override
+    public boolean skipChar(char c) throws IOException {
+        loadIfPossible();
+
+        char x = entity.buf[entity.position & mask];
+        if (x == c) {
+            entity.position++;
+            if (charClasses.isNewLine(c)) {
+                entity.column = 1;
+            } else entity.column++;
+            return true;
+        }
+        else if (charClasses.isNewLine(c)) {
+            entity.position++;
+            if (entity.position < entity.count && charClasses.isNewLine(entity.buf[entity.position & mask])) {
+                entity.position++;
+            }
+            entity.column = 1;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean arrangeBuffer(int length) throws IOException {
+        while ((entity.count - entity.position) < length) {
+            if (entity.capacity() < length && !grow(length)) {
+                break;
+            }
+            fill();
+        }
+        return (entity.count - entity.position) >= length;
+    }
+
+    @Override
+    public boolean skipDeclSpaces() throws IOException {
+        loadIfPossible();
+
+        char c = entity.buf[entity.position & mask];
+        if (charClasses.isSpace(c)) {
+            do {
+                if (charClasses.isNewLine(c)) {
+                    entity.column = 1;
+                } else entity.column++;
+
+                entity.position++;
+                loadIfPossible();
+            } while (charClasses.isSpace(c = entity.buf[entity.position & mask]));
+            return true;
+        }
+        return false;
+    }
+}
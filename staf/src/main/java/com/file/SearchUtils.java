@@ -0,0 +1,92 @@
+package com.file; //@date 18.10.2026
+
+import com.file.spec.CharSetSpec;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Search helpers used by the scanners to find the next delimiter candidate
+ * without testing every char through the {@link CharSetSpec}.
+ * <p>
+ * The byte variant uses SWAR (SIMD within a register): eight bytes are read as
+ * one {@code long} and compared against both targets at once.
+ */
+public final class SearchUtils {
+
+    public static final int NO_NEW_LINE        = -1;
+    public static final int MULTIPLE_NEW_LINES = -2;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long LOWS  = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private SearchUtils() {}
+
+    /**
+     * Looks for the only char in {@code [0, limit]} the given spec treats as a
+     * new line.
+     *
+     * @return the new line char, {@link #NO_NEW_LINE} or {@link #MULTIPLE_NEW_LINES}
+     */
+    public static int findNewLine(CharSetSpec charSet, int limit) {
+        int newLine = NO_NEW_LINE;
+        for (int c = 0; c <= limit; c++) {
+            if (charSet.isNewLine((char) c)) {
+                if (newLine != NO_NEW_LINE) {
+                    return MULTIPLE_NEW_LINES;
+                }
+                newLine = c;
+            }
+        }
+        return newLine;
+    }
+
+    /**
+     * Returns the index of the first char in {@code [from, to)} that equals one
+     * of the given chars or is above {@code 0xFF}, or {@code to} if there is none.
+     * The latter have to be checked by the caller, because new line chars are
+     * only known for the first 256 chars.
+     */
+    public static int indexOf(char[] buf, int from, int to, char c0, char c1) {
+        for (int i = from; i < to; i++) {
+            char c = buf[i];
+            if (c == c0 || c == c1 || c > 0xFF) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Returns the index of the first byte in {@code [from, to)} that equals one
+     * of the given bytes, or {@code to} if there is none.
+     */
+    public static int indexOf(byte[] buf, int from, int to, byte b0, byte b1) {
+        final long p0 = LOWS * (b0 & 0xFF);
+        final long p1 = LOWS * (b1 & 0xFF);
+
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = (long) LONGS.get(buf, i);
+            // A byte equal to the target becomes zero after the XOR. The
+            // lowest marked byte is always a real match, false positives can
+            // only occur above it.
+            long x0 = word ^ p0;
+            long x1 = word ^ p1;
+            long found = (((x0 - LOWS) & ~x0) | ((x1 - LOWS) & ~x1)) & HIGHS;
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            byte b = buf[i];
+            if (b == b0 || b == b1) {
+                return i;
+            }
+        }
+        return to;
+    }
+}
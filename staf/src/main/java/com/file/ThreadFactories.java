@@ -0,0 +1,46 @@
+package com.file; //@date 18.10.2026
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads used for background work like read-ahead. Virtual threads
+ * are used if the running JVM supports them, otherwise daemon threads.
+ */
+public final class ThreadFactories {
+
+    private ThreadFactories() {}
+
+    public static ThreadFactory newThreadFactory(String name) {
+        ThreadFactory factory = newVirtualThreadFactory(name);
+        return factory != null ? factory : newDaemonThreadFactory(name);
+    }
+
+    public static ThreadFactory newDaemonThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * @return a factory for virtual threads or null if they are not available
+     */
+    public static ThreadFactory newVirtualThreadFactory(String name) {
+        try {
+            // Thread.ofVirtual().name(name, 1).factory()
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method naming  = builder.getClass().getMethod("name", String.class, long.class);
+            naming.setAccessible(true);
+            builder = naming.invoke(builder, name + "-", 1L);
+            Method factory = builder.getClass().getMethod("factory");
+            factory.setAccessible(true);
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
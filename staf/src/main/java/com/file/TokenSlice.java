@@ -0,0 +1,143 @@
+package com.file; //@date 18.10.2026
+
+/**
+ * A view on the text of the current token. As long as the token is located in
+ * one piece of the scanner buffer, this object only stores the buffer, the offset
+ * and the length. If a token is appended in more than one piece, the data is
+ * copied once into an array owned by this slice.
+ * <p>
+ * <strong>Note:</strong> The content of this slice is only valid until the next
+ * call to {@link FragmentFileScanner#next()}, because the scanner reuses its
+ * buffer. Use {@link #toString()} to get a copy that can be retained.
+ */
+public final class TokenSlice implements CharSequence {
+
+    /**
+     * A slice which ignores everything appended to it, used to skip tokens
+     * without copying them.
+     */
+    public static final TokenSlice DISCARD = new TokenSlice(true);
+
+    private char[] array;
+    private int    offset;
+    private int    length;
+
+    private char[]  storage;
+    private boolean owned;
+
+    private String text;
+
+    private final boolean discard;
+
+    public TokenSlice() {
+        this(false);
+    }
+
+    private TokenSlice(boolean discard) {
+        this.discard = discard;
+    }
+
+    public void clear() {
+        array  = null;
+        offset = 0;
+        length = 0;
+        owned  = false;
+        text   = null;
+    }
+
+    public void append(char[] src, int off, int len) {
+        if (len <= 0 || discard) {
+            return;
+        }
+        text = null;
+        if (length == 0 && !owned) {
+            // first piece: no copy
+            array  = src;
+            offset = off;
+            length = len;
+            return;
+        }
+
+        ensureOwned(length + len);
+        System.arraycopy(src, off, array, length, len);
+        length += len;
+    }
+
+    /**
+     * Copies the content into storage owned by this slice, so that it stays
+     * valid when the scanner buffer is overwritten.
+     */
+    public void detach() {
+        if (length > 0 && !owned) {
+            ensureOwned(length);
+        }
+    }
+
+    private void ensureOwned(int capacity) {
+        if (owned && capacity <= array.length) {
+            return;
+        }
+        if (storage == null || storage.length < capacity) {
+            char[] s = new char[Math.max(capacity, storage == null ? 64 : storage.length << 1)];
+            if (owned) {
+                System.arraycopy(array, 0, s, 0, length);
+            }
+            storage = s;
+        }
+        if (!owned && length > 0) {
+            System.arraycopy(array, offset, storage, 0, length);
+        }
+        array  = storage;
+        offset = 0;
+        owned  = true;
+    }
+
+    public char[] getArray() {
+        return array;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return array[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return new String(array, offset + start, end - start);
+    }
+
+    public boolean contentEquals(CharSequence cs) {
+        if (cs.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (array[offset + i] != cs.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        if (text == null) {
+            text = length == 0 ? "" : new String(array, offset, length);
+        }
+        return text;
+    }
+}
@@ -4,7 +4,9 @@ import com.file.spec.CharSetSpec;
 
 public class CSVCharSet implements CharSetSpec {
 
-    public static final char COMMA = 0x2C;
+    public static final char COMMA     = 0x2C;
+    public static final char SEMICOLON = 0x3B;
+    public static final char QUOTE     = 0x22;
 
     @Override
     public boolean isNewLine(char cc) {
@@ -16,6 +18,16 @@ public class CSVCharSet implements CharSetSpec {
         return Character.isWhitespace(cc);
     }
 
+    @Override
+    public boolean isDelimiter(char cc) {
+        return cc == SEMICOLON;
+    }
+
+    @Override
+    public boolean isQuote(char cc) {
+        return cc == QUOTE;
+    }
+
     public boolean isComma(char c) {
         return c == COMMA;
     }
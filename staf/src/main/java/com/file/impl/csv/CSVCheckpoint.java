@@ -0,0 +1,41 @@
+package com.file.impl.csv; //@date 18.10.2026
+
+import com.file.Checkpoint;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link Checkpoint} of a {@link CSVParser}, which also contains the header
+ * columns and the cells of the current row read so far.
+ */
+public class CSVCheckpoint extends Checkpoint {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] columns;
+    private final String[] cells;
+    private final char     columnDelimiter;
+
+    public CSVCheckpoint(Checkpoint checkpoint, List<String> columns, List<String> cells, char columnDelimiter) {
+        super(checkpoint);
+        this.columns         = columns.toArray(new String[0]);
+        this.cells           = cells.toArray(new String[0]);
+        this.columnDelimiter = columnDelimiter;
+    }
+
+    public List<String> getColumns() {
+        return Arrays.asList(columns);
+    }
+
+    /**
+     * @return the cells of the current row, which is not complete yet
+     */
+    public List<String> getCells() {
+        return Arrays.asList(cells);
+    }
+
+    public char getColumnDelimiter() {
+        return columnDelimiter;
+    }
+}
@@ -0,0 +1,92 @@
+package com.file.impl.csv; //@date 18.10.2026
+
+import com.file.InputFactory;
+import com.file.MappedFileEntity;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * The rows of a byte range of a CSV file, which starts at the beginning of a
+ * line behind the header. Every chunk is parsed with its own scanner, so the
+ * chunks of one file can be parsed on different threads, see
+ * {@link CSVParser#toObject(java.util.concurrent.ForkJoinPool)}.
+ */
+class CSVChunk implements Callable<List<CSVTable.CSVRow>> {
+
+    static final long MIN_CHUNK_SIZE = 1L << 20;
+
+    private final FileChannel  channel;
+    private final Charset      charset;
+    private final InputFactory factory;
+
+    private final long start;
+    private final long end;
+    // true if the chunk ends with the file, so the end of document event
+    // might carry the last cell
+    private final boolean last;
+
+    // the row of the first line, counted like the scanner does
+    int row;
+
+    private final int   width;
+    private final char  columnDelimiter;
+    private final int[] columnFilter;
+
+    CSVChunk(FileChannel channel, Charset charset, InputFactory factory, long start, long end, boolean last,
+             int width, char columnDelimiter, int[] columnFilter) {
+        this.channel         = channel;
+        this.charset         = charset;
+        this.factory         = factory;
+        this.start           = start;
+        this.end             = end;
+        this.last            = last;
+        this.width           = width;
+        this.columnDelimiter = columnDelimiter;
+        this.columnFilter    = columnFilter;
+    }
+
+    /**
+     * @return the number of line breaks in this chunk
+     */
+    int countLines() throws IOException {
+        return CSVSpliterator.countLines(channel, start, end);
+    }
+
+    @Override
+    public List<CSVTable.CSVRow> call() throws IOException, ParseException {
+        MappedFileEntity entity = new MappedFileEntity(channel, charset, start, end,
+                                                       MappedFileEntity.DEFAULT_WINDOW_SIZE, false);
+        CSVFragmentedScanner scanner = (CSVFragmentedScanner) factory.createFragmentFileScanner(
+                factory.createFileScanner(entity));
+        scanner.setColumnDelimiter(columnDelimiter);
+        scanner.setColumnFilter(columnFilter);
+        scanner.startAtRow(row);
+
+        List<CSVTable.CSVRow> rows = new ArrayList<>();
+        Object[] cells = new Object[width];
+        int count = 0;
+        while (scanner.hasNext()) {
+            int type = scanner.next();
+            // same as CSVParser#pullEvent: the end of document event carries
+            // the last cell of a file without a trailing line break
+            if (type == CSVConstants.CSV_CELL_EVENT || type == CSVConstants.CSV_EOF_EVENT && last
+                    && scanner.endsRow(count, width, scanner.getColumn(), scanner.getText())) {
+                cells[count++] = scanner.getTextElement();
+                if (count == width) {
+                    CSVTable.CSVRow row = new CSVTable.CSVRow();
+                    row.values = cells;
+                    rows.add(row);
+                    cells = new Object[width];
+                    count = 0;
+                }
+            }
+        }
+        return rows;
+    }
+}
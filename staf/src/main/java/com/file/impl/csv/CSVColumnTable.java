@@ -0,0 +1,127 @@
+package com.file.impl.csv; //@date 18.10.2026
+
+import com.file.impl.csv.column.Column;
+import com.file.impl.csv.column.ColumnType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * A column oriented alternative to {@link CSVTable}. Each column is stored in its
+ * own {@link Column}, so there are no objects per row or cell: numbers are kept
+ * in primitive arrays and text is dictionary encoded. Every cell can be accessed
+ * by its row and column in constant time.
+ */
+public final class CSVColumnTable {
+
+    private final List<Column> columns;
+    private final List<Column> view;
+
+    // true if the types are inferred, so a column is widened instead of
+    // failing on a cell of another type
+    private final boolean inferred;
+
+    private int rowCount;
+
+    /**
+     * Creates a table with the given columns. Columns without a type are
+     * {@link ColumnType#STRING} columns.
+     */
+    public CSVColumnTable(List<String> names, ColumnType... types) {
+        this(names, types, false);
+    }
+
+    CSVColumnTable(List<String> names, ColumnType[] types, boolean inferred) {
+        columns = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            ColumnType type = types != null && i < types.length && types[i] != null ? types[i] : ColumnType.STRING;
+            Column column = Column.of(names.get(i), type);
+            // a widened column keeps the cells as they are
+            column.setKeepText(inferred);
+            columns.add(column);
+        }
+        this.view     = Collections.unmodifiableList(columns);
+        this.inferred = inferred;
+    }
+
+    /**
+     * Appends the given cell to its column, {@link #endRow()} has to be called
+     * once all cells of a row have been added.
+     *
+     * @throws NumberFormatException if the cell is not a value of the column
+     *         type and the types have not been inferred
+     */
+    void add(int column, CharSequence cell) {
+        Column current = columns.get(column);
+        try {
+            current.add(cell);
+        } catch (NumberFormatException e) {
+            if (!inferred) {
+                throw e;
+            }
+            // the sample did not show all types of the column
+            ColumnType type = current.getType().widen(ColumnType.of(cell));
+            Column widened = Column.convert(current, type == current.getType() ? ColumnType.STRING : type);
+            widened.add(cell);
+            columns.set(column, widened);
+        }
+    }
+
+    void endRow() {
+        rowCount++;
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<Column> getColumns() {
+        return view;
+    }
+
+    public Column getColumn(int column) {
+        return columns.get(column);
+    }
+
+    /**
+     * @return the column with the given name or null if there is none
+     */
+    public Column getColumn(String name) {
+        for (Column column : columns) {
+            if (column.getName().equals(name)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the value of the given cell, boxed if it is a primitive
+     */
+    public Object get(int row, int column) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("row " + row + ", row count " + rowCount);
+        }
+        return columns.get(column).get(row);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", CSVColumnTable.class.getSimpleName() + "{\n", "\n}")
+                .add("    " + columns);
+        for (int row = 0; row < rowCount; row++) {
+            StringJoiner values = new StringJoiner(", ", "[", "]");
+            for (Column column : columns) {
+                values.add(String.valueOf(column.get(row)));
+            }
+            joiner.add("\n    " + values);
+        }
+        return joiner.toString();
+    }
+}
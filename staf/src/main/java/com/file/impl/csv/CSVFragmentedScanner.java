@@ -1,5 +1,7 @@
 package com.file.impl.csv; //@date 30.03.2022
 
+import com.file.Checkpoint;
+import com.file.Delimiter;
 import com.file.FileScanner;
 import com.file.FragmentDriver;
 import com.file.FragmentFileScanner;
@@ -9,6 +11,9 @@ import com.file.spec.CharSetSpec;
 import java.io.EOFException;
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 
 public class CSVFragmentedScanner extends FragmentFileScanner {
 
@@ -18,7 +23,10 @@ public class CSVFragmentedScanner extends FragmentFileScanner {
     private static final int SCANNER_STATE_PROLOG     = 32;
     private static final int SCANNER_STATE_CELL       = 34;
 
-    private char[] columnDelimiter;
+    private static final Delimiter NEW_LINE = Delimiter.of('\n');
+
+    private char[]    columnDelimiter;
+    private Delimiter delimiter;
 
     private FragmentDriver headerDriver;
     private FragmentDriver cellDriver;
@@ -26,6 +34,16 @@ public class CSVFragmentedScanner extends FragmentFileScanner {
     private int column = 0;
     private int row    = 1;
 
+    private int markColumn, markRow;
+
+    // the columns of the cell events, null if all columns are wanted
+    private BitSet columnFilter;
+
+    // the names of the selected columns until they are resolved with the
+    // header, which is collected in the meantime
+    private String[]     columnNames;
+    private List<String> header;
+
     public CSVFragmentedScanner(FileScanner scanner) {
         super(scanner);
         setUpScanner();
@@ -53,20 +71,124 @@ public class CSVFragmentedScanner extends FragmentFileScanner {
 
     public void setColumnDelimiter(char columnDelimiter) {
         this.columnDelimiter = new char[]{columnDelimiter};
+        this.delimiter       = Delimiter.of(columnDelimiter);
     }
 
     public String getDelimiterAsString() {
         return String.valueOf(columnDelimiter);
     }
 
+    @Override
     public int getColumn() {
         return column;
     }
 
+    @Override
     public int getRow() {
         return row;
     }
 
+    /**
+     * Restricts the cell events to the given columns (counted from 0). The
+     * cells of all other columns are skipped without copying their text.
+     * Without any columns all cells are returned.
+     */
+    public void setColumnFilter(int... columns) {
+        columnNames = null;
+        if (columns == null || columns.length == 0) {
+            columnFilter = null;
+            return;
+        }
+        BitSet filter = new BitSet();
+        for (int column : columns) {
+            filter.set(column);
+        }
+        columnFilter = filter;
+    }
+
+    /**
+     * Restricts the cell events to the columns with the given names, which
+     * are resolved once the header has been read. Must be set before the
+     * header is read.
+     *
+     * @see #setColumnFilter(int...)
+     */
+    public void setColumnFilter(String... names) {
+        if (names == null || names.length == 0) {
+            setColumnFilter((int[]) null);
+            return;
+        }
+        columnFilter = null;
+        columnNames  = names.clone();
+        header       = new ArrayList<>();
+    }
+
+    private void resolveColumnNames() throws ParseException {
+        BitSet filter = new BitSet();
+        for (String name : columnNames) {
+            int column = header.indexOf(name);
+            if (column < 0) {
+                throw new ParseException("unknown column: " + name, -1);
+            }
+            filter.set(column);
+        }
+        columnFilter = filter;
+        columnNames  = null;
+        header       = null;
+    }
+
+    public boolean isSelected(int column) {
+        return columnFilter == null || column >= 0 && columnFilter.get(column);
+    }
+
+    /**
+     * @return true if the cell of an end of document event completes a row of
+     *         the given width, which has the given number of cells already. The
+     *         last cell of a file is part of the event, unless its column is
+     *         filtered or the file ends with a line break, which leaves an
+     *         empty cell in the first column.
+     */
+    boolean endsRow(int cells, int width, int column, CharSequence text) {
+        return cells + 1 == width && (column > 0 || text.length() > 0) && isSelected(column);
+    }
+
+    /**
+     * Skips the header and goes on with the cells of the given row. This is
+     * used if the input starts at the beginning of a line in the middle of a
+     * file.
+     */
+    public void startAtRow(int row) {
+        // the cell driver counts the first cell of the row as column 0
+        this.row    = row;
+        this.column = -1;
+        setDriver(cellDriver);
+        setState(SCANNER_STATE_CELL);
+    }
+
+    @Override
+    public void restore(Checkpoint checkpoint) {
+        super.restore(checkpoint);
+        row    = checkpoint.getRow();
+        column = checkpoint.getColumn();
+        if (getState() == SCANNER_STATE_CELL || getState() == SCANNER_STATE_TERMINATED) {
+            setDriver(cellDriver);
+        } else setDriver(headerDriver);
+    }
+
+    @Override
+    protected void mark() {
+        super.mark();
+        markColumn = column;
+        markRow    = row;
+    }
+
+    @Override
+    protected void reset() {
+        super.reset();
+        column = markColumn;
+        row    = markRow;
+    }
+
     @Override
     public boolean hasNext() throws IOException {
         return getState() != SCANNER_STATE_TERMINATED;
@@ -86,7 +208,12 @@ public class CSVFragmentedScanner extends FragmentFileScanner {
                         }
 
                         case SCANNER_STATE_HEADER: {
-                            if (getScanner().skip("\n")) {
+                            if (getScanner().skip(NEW_LINE)) {
+                                if (columnNames != null) {
+                                    resolveColumnNames();
+                                }
+                                // the first cell of the row is column 0 like in all other rows
+                                column = -1;
                                 setDriver(cellDriver);
                                 setState(SCANNER_STATE_CELL);
                                 return CSVFragmentedScanner.this.next();
@@ -94,8 +221,11 @@ public class CSVFragmentedScanner extends FragmentFileScanner {
                             // we assume that there are no spaces left, so we can start
                             // parsing the single column. If there is a delimiter char
                             // left we should skip that.
-                            getScanner().skip(getColumnDelimiter());
-                            getScanner().scanData(getDelimiterAsString(), getBuffer(true), true);
+                            getScanner().skip(delimiter);
+                            getScanner().scanData(delimiter, getToken(true), true);
+                            if (columnNames != null) {
+                                header.add(getTextElement());
+                            }
                             setEventType(CSVColumnEvent.CSV_COLUMN_EVENT);
                             return getEventType();
                         }
@@ -117,18 +247,25 @@ public class CSVFragmentedScanner extends FragmentFileScanner {
         @Override
         public int next() throws IOException, ParseException {
             try {
-                if (getScanner().skip("\n")) {
-                    column = 0;
-                    row++;
-                } else column++;
+                final boolean cells = accepts(CSVConstants.CSV_CELL_EVENT);
+                while (true) {
+                    if (getScanner().skip(NEW_LINE)) {
+                        column = 0;
+                        row++;
+                    } else column++;
 
-                if (getScanner().skip(getColumnDelimiter())) {
-                    column++;
-                }
+                    if (getScanner().skip(delimiter)) {
+                        column++;
+                    }
 
-                getScanner().scanData(getDelimiterAsString(), getBuffer(true), true);
-                setEventType(CSVConstants.CSV_CELL_EVENT);
-                return getEventType();
+                    if (cells && isSelected(column)) {
+                        getScanner().scanData(delimiter, getToken(true), true);
+                        setEventType(CSVConstants.CSV_CELL_EVENT);
+                        return getEventType();
+                    }
+                    // scan-only: the text of an unwanted cell is never copied
+                    getScanner().skipData(delimiter, true);
+                }
             } catch (EOFException e) {
                 setState(SCANNER_STATE_TERMINATED);
             }
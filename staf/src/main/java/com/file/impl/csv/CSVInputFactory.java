@@ -20,6 +20,11 @@ public class CSVInputFactory extends InputFactory {
         return new CSVEventAllocator();
     }
 
+    @Override
+    public EventAllocator newEventAllocator(boolean recycle) {
+        return new CSVEventAllocator(recycle);
+    }
+
     @Override
     public FragmentFileScanner createFragmentFileScanner(FileScanner scanner) {
         return new CSVFragmentedScanner(scanner);
@@ -1,6 +1,14 @@
 package com.file.impl.csv; //@date 31.03.2022
 
+import com.file.Checkpoint;
+import com.file.ByteFileScanner;
+import com.file.FileScanner;
+import com.file.FragmentFileScanner;
+import com.file.FileEntity;
 import com.file.InputFactory;
+import com.file.MappedFileEntity;
+import com.file.NeedMoreInputException;
+import com.file.impl.csv.column.ColumnType;
 import com.file.impl.csv.event.CSVCellEvent;
 import com.file.impl.csv.event.CSVColumnEvent;
 import com.file.impl.type.TypeParser;
@@ -9,16 +17,45 @@ import com.file.stream.LangPipeline;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class CSVParser extends TypeParser<CSVTable, CSVParser> implements CSVConstants {
 
+    public static final int DEFAULT_SAMPLE_SIZE = 1000;
+
     private final CSVTable table = new CSVTable();
 
-    private final List<CSVCellEvent> rowCache = new LinkedList<>();
+    // the content of the cells of the current row, events might be reused
+    private final List<String> rowCache = new ArrayList<>();
+
+    // all columns of the header, the table only has the selected ones
+    private final List<String> header = new ArrayList<>();
+
+    // the columns of the cell events, null if all columns are wanted
+    private int[]    columnFilter;
+    private String[] selection;
+
+    // the column types of toColumnTable(), inferred if null
+    private ColumnType[] schema;
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
 
     public static CSVParser stream() {
         return new CSVParser();
@@ -28,6 +65,31 @@ public class CSVParser extends TypeParser<CSVTable, CSVParser> implements CSVCon
         configure(new CSVInputFactory());
     }
 
+    /**
+     * Sets the column types used by {@link #toColumnTable()}, which are those
+     * of the selected columns if a column filter is set. Without any types
+     * they are inferred.
+     */
+    public CSVParser setSchema(ColumnType... types) {
+        schema = types == null || types.length == 0 ? null : types.clone();
+        return this;
+    }
+
+    public ColumnType[] getSchema() {
+        return schema;
+    }
+
+    /**
+     * Sets the number of rows the column types are inferred from.
+     */
+    public CSVParser setSampleSize(int rows) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("invalid sample size: " + rows);
+        }
+        sampleSize = rows;
+        return this;
+    }
+
     public CSVCellEvent nextCell() throws IOException, ParseException {
         if (!hasNext()) {
             return null;
@@ -61,27 +123,31 @@ public class CSVParser extends TypeParser<CSVTable, CSVParser> implements CSVCon
         }
 
         LangEvent event = nextEvent();
+        if (event == null) {
+            return null;
+        }
         switch (event.getType()) {
             case CSVConstants.CSV_COLUMN_EVENT:
-                table.getColumns().add(((CSVColumnEvent) event).getColumnName());
+                addColumn(((CSVColumnEvent) event).getColumnName());
                 return event;
 
             case CSVConstants.CSV_CELL_EVENT:
                 CSVCellEvent cellEvent = (CSVCellEvent) event;
-                rowCache.add(cellEvent);
-                if (rowCache.size() == table.getColumns().size()) {
+                rowCache.add(cellEvent.getContent());
+                if (rowCache.size() == getRowWidth()) {
                     CSVTable.CSVRow row = new CSVTable.CSVRow();
-                    row.values = rowCache.stream().map(CSVCellEvent::getContent).toArray();
+                    row.values = rowCache.toArray();
                     table.getRows().add(row);
                     rowCache.clear();
                 }
                 return cellEvent;
 
             case CSVConstants.CSV_EOF_EVENT:
-                if (rowCache.size() + 1 == table.getColumns().size()) {
-                    rowCache.add(((CSVCellEvent)event));
+                CSVCellEvent eofEvent = (CSVCellEvent) event;
+                if (endsRow(rowCache.size(), eofEvent.getColumn(), eofEvent.getText())) {
+                    rowCache.add(eofEvent.getContent());
                     CSVTable.CSVRow row = new CSVTable.CSVRow();
-                    row.values = rowCache.stream().map(CSVCellEvent::getContent).toArray();
+                    row.values = rowCache.toArray();
                     table.getRows().add(row);
                     rowCache.clear();
                 }
@@ -90,6 +156,103 @@ public class CSVParser extends TypeParser<CSVTable, CSVParser> implements CSVCon
         return null;
     }
 
+    private void addColumn(String name) {
+        header.add(name);
+        if (isSelected(header.size() - 1)) {
+            table.getColumns().add(name);
+        }
+    }
+
+    /**
+     * @see CSVFragmentedScanner#endsRow(int, int, int, CharSequence)
+     */
+    private boolean endsRow(int cells, int column, CharSequence text) {
+        return ((CSVFragmentedScanner) fragmentFileScanner).endsRow(cells, getRowWidth(), column, text);
+    }
+
+    private boolean isSelected(int column) {
+        if (selection != null) {
+            return Arrays.asList(selection).contains(header.get(column));
+        }
+        return columnFilter == null || Arrays.stream(columnFilter).anyMatch(selected -> selected == column);
+    }
+
+    /**
+     * @return the number of cells of a row, which is less than the number of
+     *         columns if a column filter is set
+     */
+    private int getRowWidth() {
+        return table.getColumns().size();
+    }
+
+    /**
+     * Restricts the cells to the given columns (counted from 0). The filter
+     * is pushed down to the fragment scanner, so the other cells are skipped
+     * without copying their text. The rows of the {@link CSVTable} only contain
+     * the selected cells. Without any columns all cells are returned.
+     */
+    public CSVParser setColumnFilter(int... columns) {
+        columnFilter = columns == null || columns.length == 0 ? null : Arrays.stream(columns).distinct().toArray();
+        selection    = null;
+        if (fragmentFileScanner != null) {
+            ((CSVFragmentedScanner) fragmentFileScanner).setColumnFilter(columnFilter);
+        }
+        if (!header.isEmpty()) {
+            List<String> names = new ArrayList<>(header);
+            header.clear();
+            table.getColumns().clear();
+            names.forEach(this::addColumn);
+        }
+        return this;
+    }
+
+    /**
+     * Selects the given columns (counted from 0), see {@link #setColumnFilter(int...)}.
+     * The columns of the {@link CSVTable} are the selected ones in file order.
+     */
+    public CSVParser select(int... columns) {
+        return setColumnFilter(columns);
+    }
+
+    /**
+     * Selects the columns with the given names, which are resolved with the
+     * header. The cells of all other columns are skipped by the scanner
+     * without copying their text, and the {@link CSVTable} only holds the
+     * selected columns in file order. A name which is not in the header is
+     * reported with a {@link ParseException} once the header has been read.
+     * Without any names all columns are selected.
+     */
+    public CSVParser select(String... columns) {
+        if (columns == null || columns.length == 0) {
+            return setColumnFilter((int[]) null);
+        }
+        if (!header.isEmpty()) {
+            // the header has been read already
+            int[] indexes = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                indexes[i] = header.indexOf(columns[i]);
+                if (indexes[i] < 0) {
+                    throw new IllegalArgumentException("unknown column: " + columns[i]);
+                }
+            }
+            return setColumnFilter(indexes);
+        }
+        columnFilter = null;
+        selection    = columns.clone();
+        if (fragmentFileScanner != null) {
+            ((CSVFragmentedScanner) fragmentFileScanner).setColumnFilter(selection);
+        }
+        return this;
+    }
+
+    @Override
+    protected void applyFilters(FragmentFileScanner scanner) {
+        super.applyFilters(scanner);
+        if (selection != null) {
+            ((CSVFragmentedScanner) scanner).setColumnFilter(selection);
+        } else ((CSVFragmentedScanner) scanner).setColumnFilter(columnFilter);
+    }
+
     public CSVTable toObject() throws IOException, ParseException {
         if (table.getColumns().size() == 0) {
             while (hasNext()) {
@@ -99,12 +262,310 @@ public class CSVParser extends TypeParser<CSVTable, CSVParser> implements CSVCon
         return table;
     }
 
+    /**
+     * Returns the remaining rows one after another without adding them to the
+     * {@link CSVTable} of this parser, so a file of any size is read in
+     * constant memory. The iterator always returns the same {@link CSVRowView},
+     * which holds the cells of the current row until the next one is read. A
+     * row read partly before, e.g. restored by {@link #resume(FileChannel, CSVCheckpoint)},
+     * is completed first.
+     * <p>
+     * Errors are thrown as {@link UncheckedIOException} and, for a {@link ParseException},
+     * as {@link IllegalStateException}.
+     */
+    public Iterator<CSVRowView> rows() {
+        return new RowIterator();
+    }
+
+    /**
+     * Reads the remaining rows into a {@link CSVColumnTable} with the schema
+     * of this parser. Without a schema the types are inferred from the first
+     * rows, see {@link #setSampleSize(int)}. A column is widened if a later
+     * cell does not fit its inferred type, a column widened to text keeps the
+     * cells exactly as they are, see {@link com.file.impl.csv.column.Column#setKeepText(boolean)}.
+     */
+    public CSVColumnTable toColumnTable() throws IOException, ParseException {
+        return readColumns(schema, schema == null);
+    }
+
+    /**
+     * Reads the remaining rows into a {@link CSVColumnTable} instead of the
+     * {@link CSVTable} of this parser, so no row is retained as objects. The
+     * given types are those of the table columns, which are the selected ones
+     * if a column filter is set. Columns without a type hold text.
+     *
+     * @throws NumberFormatException if a cell is not a value of its column type
+     */
+    public CSVColumnTable toColumnTable(ColumnType... types) throws IOException, ParseException {
+        return readColumns(types, false);
+    }
+
+    private CSVColumnTable readColumns(ColumnType[] types, boolean infer) throws IOException, ParseException {
+        ColumnBuilder builder = new ColumnBuilder(types, infer);
+        if (peekedEvent != null) {
+            LangEvent event = peekedEvent;
+            peekedEvent = null;
+            if (event.getType() == CSV_COLUMN_EVENT) {
+                addColumn(((CSVColumnEvent) event).getColumnName());
+            } else if (event.getType() == CSV_CELL_EVENT) {
+                builder.add(((CSVCellEvent) event).getContent());
+            } else if (event.getType() == CSV_EOF_EVENT) {
+                CSVCellEvent eofEvent = (CSVCellEvent) event;
+                if (endsRow(builder.cell, eofEvent.getColumn(), eofEvent.getText())) {
+                    builder.add(eofEvent.getContent());
+                }
+            }
+        }
+
+        // the cells are parsed straight from the token of the scanner, no
+        // event and no string is created for them
+        final CSVFragmentedScanner scanner = (CSVFragmentedScanner) fragmentFileScanner;
+        while (scanner.hasNext()) {
+            switch (scanner.next()) {
+                case FragmentFileScanner.NEED_MORE_INPUT:
+                    throw new NeedMoreInputException();
+
+                case CSV_COLUMN_EVENT:
+                    addColumn(scanner.getTextElement());
+                    break;
+
+                case CSV_CELL_EVENT:
+                    builder.add(scanner.getText());
+                    break;
+
+                case CSV_EOF_EVENT:
+                    if (endsRow(builder.cell, scanner.getColumn(), scanner.getText())) {
+                        builder.add(scanner.getText());
+                    }
+                    break;
+            }
+        }
+        lastEvent = null;
+        return builder.finish();
+    }
+
+    /**
+     * Like {@link #toObject()}, but the rows are parsed on the given pool if
+     * the source is a file which has not been read yet. The header is read
+     * first, then the rest of the file is split into byte ranges at line
+     * boundaries and every range is parsed by its own {@link CSVFragmentedScanner}.
+     * The rows of all ranges are added to the table in file order.
+     * <p>
+     * Splitting is only supported for charsets which encode a line break as
+     * a single {@code 0x0A} byte, otherwise and for other sources the table is
+     * built on the calling thread. The column filter applies, an event filter
+     * does not. The file is closed afterwards.
+     */
+    public CSVTable toObject(ForkJoinPool pool) throws IOException, ParseException {
+        MappedFileEntity file = getUnreadFile();
+        if (file == null || !ByteFileScanner.isSupported(file.getCharset())) {
+            return toObject();
+        }
+        FileChannel channel   = file.getChannel();
+        char        delimiter = ((CSVFragmentedScanner) fragmentFileScanner).getColumnDelimiter()[0];
+        long        headerEnd = CSVSpliterator.nextLineStart(channel, file.getStart(), file.getEnd());
+        if (headerEnd == -1) {
+            return toObject();
+        }
+
+        // the header is read on its own, the event filter must not drop it
+        CSVFragmentedScanner headerScanner = (CSVFragmentedScanner) factory.createFragmentFileScanner(factory.createFileScanner(
+                new MappedFileEntity(channel, file.getCharset(), file.getStart(), headerEnd, headerEnd - file.getStart() + 1, false)));
+        headerScanner.setColumnDelimiter(delimiter);
+        while (headerScanner.hasNext()) {
+            if (headerScanner.next() == CSV_COLUMN_EVENT) {
+                addColumn(headerScanner.getTextElement());
+            }
+        }
+
+        if (selection != null) {
+            // resolves the names with the header
+            select(selection);
+        }
+        int   width  = getRowWidth();
+        long  size   = Math.max(CSVChunk.MIN_CHUNK_SIZE, (file.getEnd() - headerEnd) / (pool.getParallelism() << 2));
+        List<CSVChunk> chunks = new ArrayList<>();
+        for (long start = headerEnd, end; start < file.getEnd(); start = end) {
+            end = start + size >= file.getEnd() ? -1 : CSVSpliterator.nextLineStart(channel, start + size, file.getEnd());
+            if (end == -1) {
+                end = file.getEnd();
+            }
+            chunks.add(new CSVChunk(channel, file.getCharset(), factory, start, end, end == file.getEnd(),
+                                    width, delimiter, columnFilter));
+        }
+
+        // the first row of a chunk follows the line breaks in front of it,
+        // these are counted in parallel before the chunks are parsed
+        List<Callable<Integer>> counts = new ArrayList<>(chunks.size());
+        for (CSVChunk chunk : chunks) {
+            counts.add(chunk::countLines);
+        }
+        int row = 1;
+        List<Future<Integer>> lines = pool.invokeAll(counts);
+        for (int i = 0; i < chunks.size(); i++) {
+            chunks.get(i).row = row;
+            row += get(lines.get(i));
+        }
+
+        for (Future<List<CSVTable.CSVRow>> rows : pool.invokeAll(chunks)) {
+            table.getRows().addAll(get(rows));
+        }
+
+        // this parser is done with the file as well
+        fragmentFileScanner.endFile();
+        file.close();
+        return table;
+    }
+
+    private static <T> T get(Future<T> future) throws IOException, ParseException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while parsing chunks");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof ParseException) {
+                throw (ParseException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * @return the file of this parser if nothing has been read from it yet, otherwise null
+     */
+    private MappedFileEntity getUnreadFile() {
+        FileEntity entity = scanner == null ? null : scanner.getEntity();
+        if (entity instanceof MappedFileEntity && peekedEvent == null && lastEvent == null
+                && entity.fileOffset == 0 && entity.count == 0 && entity.lastCount == 0) {
+            return (MappedFileEntity) entity;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the current position and state of this parser, see {@link Checkpoint}.
+     * The checkpoint can be serialized and used with {@link #resume(FileChannel, CSVCheckpoint)}
+     * to continue parsing at this point.
+     *
+     * @throws IllegalStateException if the source has no byte position, like
+     *         a {@link java.io.Reader} or a string, so it could not be resumed
+     */
+    public CSVCheckpoint checkpoint() {
+        if (fragmentFileScanner == null) {
+            throw new IllegalStateException("no source specified");
+        }
+        CSVFragmentedScanner scanner    = (CSVFragmentedScanner) fragmentFileScanner;
+        Checkpoint           checkpoint = scanner.checkpoint();
+        if (checkpoint.getByteOffset() < 0) {
+            throw new IllegalStateException("the source has no byte position to resume at");
+        }
+        return new CSVCheckpoint(checkpoint, header, rowCache, scanner.getColumnDelimiter()[0]);
+    }
+
+    /**
+     * Continues parsing the given file at the checkpoint, see {@link #resume(FileChannel, CSVCheckpoint)}.
+     */
+    public CSVParser resume(File file, CSVCheckpoint checkpoint) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            return resume(channel, checkpoint);
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Continues parsing the given channel at the byte offset of the checkpoint.
+     * The header columns are restored, but the table contains only the rows
+     * read after the checkpoint.
+     */
+    public CSVParser resume(FileChannel channel, CSVCheckpoint checkpoint) throws IOException {
+        if (factory == null) throw new NullPointerException("factory is null");
+        if (checkpoint.getByteOffset() < 0) {
+            throw new IllegalArgumentException("checkpoint without byte offset: " + checkpoint);
+        }
+
+        Charset charset = checkpoint.getCharset() == null ? Charset.defaultCharset() : Charset.forName(checkpoint.getCharset());
+        MappedFileEntity entity = new MappedFileEntity(channel, charset, checkpoint.getByteOffset(), channel.size(),
+                                                       MappedFileEntity.DEFAULT_WINDOW_SIZE);
+        // offsets of later checkpoints are still relative to the whole file
+        entity.fileOffset = checkpoint.getCharOffset();
+        setSource(factory.createFileScanner(entity));
+
+        CSVFragmentedScanner scanner = (CSVFragmentedScanner) fragmentFileScanner;
+        scanner.setColumnDelimiter(checkpoint.getColumnDelimiter());
+        scanner.restore(checkpoint);
+
+        header.clear();
+        table.getColumns().clear();
+        checkpoint.getColumns().forEach(this::addColumn);
+        if (selection != null) {
+            // the scanner does not read the header again
+            select(selection);
+        }
+        table.getRows().clear();
+        rowCache.clear();
+        rowCache.addAll(checkpoint.getCells());
+        return this;
+    }
+
+    /**
+     * If the source is a file which has not been read yet, the returned stream
+     * is backed by a {@link CSVSpliterator}, so it can be run in parallel with
+     * {@link Stream#parallel()}. The events are in file order either way.
+     * Otherwise the events are pulled from this parser.
+     * <p>
+     * The stream has to be closed if it is not consumed completely.
+     */
+    @Override
+    public Stream<LangEvent> events() {
+        // the parts behind the first one cannot resolve selected names
+        MappedFileEntity file = getUnreadFile();
+        if (file != null && selection == null) {
+            CSVSpliterator spliterator = new CSVSpliterator(file.getChannel(), file.getCharset(), factory,
+                                                            file.getStart(), file.getEnd(),
+                                                            CSVSpliterator.DEFAULT_MIN_SPLIT_SIZE);
+            spliterator.setColumnDelimiter(((CSVFragmentedScanner) fragmentFileScanner).getColumnDelimiter()[0]);
+            spliterator.setEventFilter(eventFilter);
+            spliterator.setColumnFilter(columnFilter);
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    file.getChannel().close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return super.events();
+    }
+
     @Override
     public CSVParser setSource(Reader reader) {
         if (factory == null) throw new NullPointerException("factory is null");
 
-        scanner             = factory.createFileScanner(reader);
+        return setSource(factory.createFileScanner(reader));
+    }
+
+    @Override
+    public CSVParser setSource(FileScanner scanner) {
+        if (factory == null) throw new NullPointerException("factory is null");
+
+        this.scanner        = scanner;
         fragmentFileScanner = factory.createFragmentFileScanner(scanner);
+        applyFilters(fragmentFileScanner);
 
         peekedEvent = allocator.allocate(fragmentFileScanner);
         return this;
@@ -114,8 +575,201 @@ public class CSVParser extends TypeParser<CSVTable, CSVParser> implements CSVCon
     public CSVParser configure(InputFactory factory) {
         this.factory = factory;
         if (factory != null) {
-            allocator = factory.getEventAllocator();
+            // a recycling allocator must not be shared with other streams
+            allocator = factory.isRecycleEvents() ? factory.newEventAllocator(true) : factory.getEventAllocator();
         }
         return this;
     }
+
+    /**
+     * Collects the cells of {@link #toColumnTable()}. If the types are inferred,
+     * the cells of the sample rows are kept until the types are known.
+     */
+    private final class ColumnBuilder {
+
+        private final ColumnType[] types;
+
+        // the cells of the sample rows, null once the table has been created
+        private List<String> sample;
+        private int          sampleRows;
+
+        private CSVColumnTable columns;
+        private int            width = -1;
+
+        // the cell of the current row
+        int cell;
+
+        ColumnBuilder(ColumnType[] types, boolean infer) {
+            this.types  = types;
+            this.sample = infer ? new ArrayList<>() : null;
+        }
+
+        void add(CharSequence text) {
+            if (width < 0) {
+                width = getRowWidth();
+                if (sample == null) {
+                    start();
+                }
+            }
+            if (sample != null) {
+                sample.add(text.toString());
+                if (++cell == width) {
+                    cell = 0;
+                    if (++sampleRows == sampleSize) {
+                        start();
+                    }
+                }
+                return;
+            }
+            columns.add(cell, text);
+            if (++cell == width) {
+                columns.endRow();
+                cell = 0;
+            }
+        }
+
+        private void start() {
+            List<String> names = table.getColumns();
+            if (sample == null) {
+                columns = new CSVColumnTable(names, types);
+                return;
+            }
+
+            ColumnType[] inferred = new ColumnType[names.size()];
+            for (int i = 0; i < sample.size() && !names.isEmpty(); i++) {
+                int column = i % names.size();
+                ColumnType type = ColumnType.of(sample.get(i));
+                inferred[column] = inferred[column] == null ? type : inferred[column].widen(type);
+            }
+            columns = new CSVColumnTable(names, inferred, true);
+            for (int i = 0; i < sample.size() && !names.isEmpty(); i++) {
+                columns.add(i % names.size(), sample.get(i));
+                if ((i + 1) % names.size() == 0) {
+                    columns.endRow();
+                }
+            }
+            sample = null;
+        }
+
+        CSVColumnTable finish() {
+            if (columns == null) {
+                start();
+            }
+            return columns;
+        }
+    }
+
+    private final class RowIterator implements Iterator<CSVRowView> {
+
+        private CSVRowView view;
+
+        // the cell of the current row, kept if a feeding scanner needs more input
+        private int cell;
+
+        // true if the view holds a row which has not been returned yet
+        private boolean ready;
+        private boolean done;
+
+        RowIterator() {
+            // the cells of the current row read so far, e.g. restored by resume()
+            if (!rowCache.isEmpty() && !table.getColumns().isEmpty()) {
+                view = new CSVRowView(Collections.unmodifiableList(new ArrayList<>(table.getColumns())));
+                view.row = fragmentFileScanner.getRow();
+                for (String text : rowCache) {
+                    view.cells[cell++] = text;
+                }
+                rowCache.clear();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!ready && !done) {
+                try {
+                    ready = advance();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ParseException e) {
+                    throw new IllegalStateException(e);
+                }
+                done = !ready;
+            }
+            return ready;
+        }
+
+        @Override
+        public CSVRowView next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            return view;
+        }
+
+        private boolean advance() throws IOException, ParseException {
+            if (peekedEvent != null) {
+                LangEvent event = peekedEvent;
+                peekedEvent = null;
+                if (event.getType() == CSV_COLUMN_EVENT) {
+                    addColumn(((CSVColumnEvent) event).getColumnName());
+                } else if (event.getType() == CSV_CELL_EVENT
+                        && addCell(((CSVCellEvent) event).getContent(), ((CSVCellEvent) event).getRow())) {
+                    return true;
+                } else if (event.getType() == CSV_EOF_EVENT) {
+                    CSVCellEvent eofEvent = (CSVCellEvent) event;
+                    if (endsRow(cell, eofEvent.getColumn(), eofEvent.getText())) {
+                        return addCell(eofEvent.getContent(), eofEvent.getRow());
+                    }
+                }
+            }
+
+            // the cells are taken straight from the scanner, no event is created
+            final CSVFragmentedScanner scanner = (CSVFragmentedScanner) fragmentFileScanner;
+            while (scanner.hasNext()) {
+                switch (scanner.next()) {
+                    case FragmentFileScanner.NEED_MORE_INPUT:
+                        throw new NeedMoreInputException();
+
+                    case CSV_COLUMN_EVENT:
+                        addColumn(scanner.getTextElement());
+                        break;
+
+                    case CSV_CELL_EVENT:
+                        if (addCell(scanner.getTextElement(), scanner.getRow())) {
+                            return true;
+                        }
+                        break;
+
+                    case CSV_EOF_EVENT:
+                        if (endsRow(cell, scanner.getColumn(), scanner.getText())) {
+                            return addCell(scanner.getTextElement(), scanner.getRow());
+                        }
+                        break;
+                }
+            }
+            lastEvent = null;
+            return false;
+        }
+
+        /**
+         * @return true if the row is complete
+         */
+        private boolean addCell(String text, int row) throws ParseException {
+            if (view == null) {
+                if (table.getColumns().isEmpty()) {
+                    throw new ParseException("cell without column in row " + row, -1);
+                }
+                view = new CSVRowView(Collections.unmodifiableList(new ArrayList<>(table.getColumns())));
+            }
+            if (cell == 0) {
+                view.row = row;
+            }
+            view.cells[cell++] = text;
+            if (cell == view.size()) {
+                cell = 0;
+                return true;
+            }
+            return false;
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package com.file.impl.csv; //@date 18.10.2026
+
+import com.file.impl.csv.column.Cells;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A view on the cells of the current row of {@link CSVParser#rows()}. The same
+ * view and its array of cells are reused for every row, so nothing of a row is
+ * retained once the next one is read.
+ * <p>
+ * <strong>Note:</strong> The content of this view is only valid until the next
+ * row is read. Use {@link #toArray()} to get a copy that can be retained.
+ */
+public final class CSVRowView {
+
+    private final List<String> columns;
+
+    final String[] cells;
+    int            row;
+
+    CSVRowView(List<String> columns) {
+        this.columns = columns;
+        this.cells   = new String[columns.size()];
+    }
+
+    /**
+     * @return the row of the first cell, counted like {@link com.file.impl.csv.event.CSVCellEvent#getRow()}
+     */
+    public int getRow() {
+        return row;
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * @return the names of the cells, which are the selected columns if a
+     *         column filter is set
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public String get(int cell) {
+        return cells[cell];
+    }
+
+    public String get(String column) {
+        int cell = columns.indexOf(column);
+        if (cell < 0) {
+            throw new IllegalArgumentException("unknown column: " + column);
+        }
+        return cells[cell];
+    }
+
+    public int getInt(int cell) {
+        return Cells.parseInt(cells[cell]);
+    }
+
+    public long getLong(int cell) {
+        return Cells.parseLong(cells[cell]);
+    }
+
+    public double getDouble(int cell) {
+        return Cells.parseDouble(cells[cell]);
+    }
+
+    public String[] toArray() {
+        return cells.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "CSVRowView{row=" + row + ", cells=" + Arrays.toString(cells) + "}";
+    }
+}
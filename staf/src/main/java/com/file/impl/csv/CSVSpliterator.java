@@ -0,0 +1,236 @@
+package com.file.impl.csv; //@date 18.10.2026
+
+import com.file.ByteFileScanner;
+import com.file.FileScanner;
+import com.file.FragmentFileScanner;
+import com.file.InputFactory;
+import com.file.MappedFileEntity;
+import com.file.SearchUtils;
+import com.file.stream.EventAllocator;
+import com.file.stream.LangEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.text.ParseException;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over the events of a CSV file. The file is split at line
+ * boundaries, so every part can be parsed on its own with a {@link MappedFileEntity}
+ * covering its byte range. The first part contains the header, all other parts
+ * start with the cells of the row they begin with.
+ * <p>
+ * The row of the first line of a part is determined by counting the line breaks
+ * in front of it while splitting. Splitting is only supported for charsets which
+ * encode a line break as a single {@code 0x0A} byte, see {@link ByteFileScanner#isSupported}.
+ * <p>
+ * The channel is closed after all parts have been parsed.
+ */
+public class CSVSpliterator implements Spliterator<LangEvent> {
+
+    public static final long DEFAULT_MIN_SPLIT_SIZE = 1L << 20;
+
+    private static final int READ_SIZE = 1 << 16;
+
+    private final FileChannel  channel;
+    private final Charset      charset;
+    private final InputFactory factory;
+    private final long         fileEnd;
+    private final long         minSplitSize;
+
+    // number of parts which have not been finished yet
+    private final AtomicInteger pending;
+
+    private long start;
+    private long end;
+    private int  row;
+
+    private char columnDelimiter = CSVCharSet.SEMICOLON;
+
+    private int[] eventFilter;
+    private int[] columnFilter;
+
+    private CSVFragmentedScanner scanner;
+    private EventAllocator       allocator;
+    private boolean              finished;
+
+    public CSVSpliterator(FileChannel channel, Charset charset, InputFactory factory) throws IOException {
+        this(channel, charset, factory, 0, channel.size(), DEFAULT_MIN_SPLIT_SIZE);
+    }
+
+    public CSVSpliterator(FileChannel channel, Charset charset, InputFactory factory,
+                          long start, long end, long minSplitSize) {
+        this(channel, charset, factory, start, end, end, 0, minSplitSize, new AtomicInteger(1));
+    }
+
+    private CSVSpliterator(FileChannel channel, Charset charset, InputFactory factory, long start, long end,
+                           long fileEnd, int row, long minSplitSize, AtomicInteger pending) {
+        this.channel      = channel;
+        this.charset      = charset;
+        this.factory      = factory;
+        this.start        = start;
+        this.end          = end;
+        this.fileEnd      = fileEnd;
+        this.row          = row;
+        this.minSplitSize = Math.max(minSplitSize, 1);
+        this.pending      = pending;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super LangEvent> action) {
+        if (finished) {
+            return false;
+        }
+        try {
+            if (scanner == null) {
+                open();
+            }
+            while (scanner.hasNext()) {
+                if (scanner.next() == FragmentFileScanner.NO_EVENT) {
+                    continue;
+                }
+                LangEvent event = allocator.allocate(scanner);
+                // Every part except the last one ends behind a line break,
+                // so its end of document event carries no cell.
+                if (event == null || (end != fileEnd && event.getType() == CSVConstants.CSV_EOF_EVENT)) {
+                    continue;
+                }
+                action.accept(event);
+                return true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+        finish();
+        return false;
+    }
+
+    private void open() {
+        MappedFileEntity entity = new MappedFileEntity(channel, charset, start, end,
+                                                       MappedFileEntity.DEFAULT_WINDOW_SIZE, false);
+        FileScanner fileScanner = factory.createFileScanner(entity);
+
+        scanner   = (CSVFragmentedScanner) factory.createFragmentFileScanner(fileScanner);
+        allocator = factory.newEventAllocator();
+        scanner.setColumnDelimiter(columnDelimiter);
+        scanner.setEventFilter(eventFilter);
+        scanner.setColumnFilter(columnFilter);
+        if (start > 0) {
+            scanner.startAtRow(row);
+        }
+    }
+
+    private void finish() throws UncheckedIOException {
+        finished = true;
+        if (pending.decrementAndGet() == 0) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<LangEvent> trySplit() {
+        if (scanner != null || finished || !ByteFileScanner.isSupported(charset)
+                || end - start < minSplitSize << 1) {
+            return null;
+        }
+        try {
+            long cut = nextLineStart(channel, start + ((end - start) >> 1), end);
+            if (cut == -1 || cut >= end) {
+                return null;
+            }
+            int lines = countLines(channel, start, cut);
+
+            CSVSpliterator prefix = new CSVSpliterator(channel, charset, factory, start, cut, fileEnd,
+                                                       row, minSplitSize, pending);
+            prefix.columnDelimiter = columnDelimiter;
+            prefix.eventFilter     = eventFilter;
+            prefix.columnFilter    = columnFilter;
+            pending.incrementAndGet();
+            start = cut;
+            row  += lines;
+            return prefix;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the position behind the first line break at or after the given
+     *         position or -1 if there is none before {@code end}
+     */
+    static long nextLineStart(FileChannel channel, long position, long end) throws IOException {
+        byte[]     bytes  = new byte[READ_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (position < end) {
+            buffer.clear().limit((int) Math.min(READ_SIZE, end - position));
+            int count = channel.read(buffer, position);
+            if (count <= 0) {
+                break;
+            }
+            int index = SearchUtils.indexOf(bytes, 0, count, (byte) '\n', (byte) '\n');
+            if (index < count) {
+                return position + index + 1;
+            }
+            position += count;
+        }
+        return -1;
+    }
+
+    static int countLines(FileChannel channel, long from, long to) throws IOException {
+        byte[]     bytes  = new byte[READ_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int lines = 0;
+        while (from < to) {
+            buffer.clear().limit((int) Math.min(READ_SIZE, to - from));
+            int count = channel.read(buffer, from);
+            if (count <= 0) {
+                break;
+            }
+            for (int i = 0; (i = SearchUtils.indexOf(bytes, i, count, (byte) '\n', (byte) '\n')) < count; i++) {
+                lines++;
+            }
+            from += count;
+        }
+        return lines;
+    }
+
+    public void setColumnDelimiter(char columnDelimiter) {
+        this.columnDelimiter = columnDelimiter;
+    }
+
+    /**
+     * @see CSVFragmentedScanner#setEventFilter(int...)
+     */
+    public void setEventFilter(int... types) {
+        this.eventFilter = types;
+    }
+
+    /**
+     * @see CSVFragmentedScanner#setColumnFilter(int...)
+     */
+    public void setColumnFilter(int... columns) {
+        this.columnFilter = columns;
+    }
+
+    @Override
+    public long estimateSize() {
+        // the number of bytes left, there is no cheap way to count the events
+        return end - start;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
@@ -1,7 +1,7 @@
 package com.file.impl.csv; //@date 31.03.2022
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.StringJoiner;
 
@@ -12,8 +12,8 @@ public final class CSVTable {
     private int columnCount;
     private int rowCount;
 
-    private final List<CSVRow> rows = new LinkedList<>();
-    private final List<String> columns = new LinkedList<>();
+    private final List<CSVRow> rows = new ArrayList<>();
+    private final List<String> columns = new ArrayList<>();
 
     public static final class CSVRow {
         public Object[] values = EMPTY_ELEMENT_DATA;
@@ -0,0 +1,47 @@
+package com.file.impl.csv.column; //@date 18.10.2026
+
+import java.util.BitSet;
+
+public class BooleanColumn extends Column {
+
+    private final BitSet values = new BitSet();
+
+    public BooleanColumn(String name) {
+        super(name);
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.BOOLEAN;
+    }
+
+    @Override
+    public void add(CharSequence cell) {
+        if (cell.length() == 0) {
+            addNull();
+        } else add(Cells.parseBoolean(cell));
+        keepText(cell);
+    }
+
+    public void add(boolean value) {
+        values.set(size++, value);
+    }
+
+    public void addNull() {
+        setNull(size);
+        add(false);
+    }
+
+    /**
+     * @return the value of the given row, false if the cell is empty
+     */
+    public boolean getBoolean(int row) {
+        checkIndex(row);
+        return values.get(row);
+    }
+
+    @Override
+    public Boolean get(int row) {
+        return isNull(row) ? null : values.get(row);
+    }
+}
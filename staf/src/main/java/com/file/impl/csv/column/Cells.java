@@ -0,0 +1,216 @@
+package com.file.impl.csv.column; //@date 18.10.2026
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Parses the values of cells straight from the text of a token, usually a
+ * {@link com.file.TokenSlice} on the scanner buffer, so no {@link String} is
+ * created for a number, boolean or date. All methods throw a
+ * {@link NumberFormatException} if the cell is not a value of the type.
+ */
+public final class Cells {
+
+    // the powers of ten which are exactly representable as double
+    private static final double[] POWERS_OF_TEN = {
+            1e0,  1e1,  1e2,  1e3,  1e4,  1e5,  1e6,  1e7,  1e8,  1e9,  1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // a mantissa with more digits might not be exactly representable
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private Cells() {}
+
+    public static int parseInt(CharSequence cell) {
+        return Integer.parseInt(cell, 0, cell.length(), 10);
+    }
+
+    public static long parseLong(CharSequence cell) {
+        return Long.parseLong(cell, 0, cell.length(), 10);
+    }
+
+    /**
+     * Plain decimals with up to 15 digits are computed as the quotient of two
+     * exactly representable doubles, which is rounded correctly. Everything
+     * else is passed to {@link Double#parseDouble(String)}.
+     */
+    public static double parseDouble(CharSequence cell) {
+        int     length   = cell.length();
+        int     i        = 0;
+        boolean negative = false;
+        if (length > 0 && (cell.charAt(0) == '-' || cell.charAt(0) == '+')) {
+            negative = cell.charAt(0) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int  digits   = 0;
+        int  scale    = -1;
+        for (; i < length; i++) {
+            char c = cell.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_EXACT_DIGITS) {
+                    return Double.parseDouble(cell.toString());
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return Double.parseDouble(cell.toString());
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("not a number: \"" + cell + "\"");
+        }
+
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    public static boolean parseBoolean(CharSequence cell) {
+        if (equalsIgnoreCase(cell, "true")) {
+            return true;
+        }
+        if (equalsIgnoreCase(cell, "false")) {
+            return false;
+        }
+        throw new NumberFormatException("not a boolean: \"" + cell + "\"");
+    }
+
+    /**
+     * @return the epoch day of an ISO date like {@code 2026-10-18}
+     */
+    public static int parseDate(CharSequence cell) {
+        if (!isDateFormat(cell)) {
+            throw new NumberFormatException("not a date: \"" + cell + "\"");
+        }
+        try {
+            return (int) LocalDate.of(digits(cell, 0, 4), digits(cell, 5, 7), digits(cell, 8, 10)).toEpochDay();
+        } catch (DateTimeException e) {
+            throw new NumberFormatException("not a date: \"" + cell + "\"");
+        }
+    }
+
+    /**
+     * @return true if the given cell is the text of its value of the given
+     *         type, like {@code 7} but not {@code 007} or {@code +7}
+     */
+    static boolean isCanonical(CharSequence cell, ColumnType type) {
+        int length = cell.length();
+        switch (type) {
+            case INT:
+            case LONG: {
+                int i = length > 0 && cell.charAt(0) == '-' ? 1 : 0;
+                // no sign but a minus, no leading zero and no negative zero
+                return i < length && cell.charAt(i) >= '0' && cell.charAt(i) <= '9'
+                       && (cell.charAt(i) != '0' || length == 1);
+            }
+            case DOUBLE:
+                return Double.toString(parseDouble(cell)).contentEquals(cell);
+            case BOOLEAN:
+                return "true".contentEquals(cell) || "false".contentEquals(cell);
+            default:
+                // dates only have one format
+                return true;
+        }
+    }
+
+    /**
+     * Determines the narrowest type of the given cell without throwing an
+     * exception for any of the types it does not match.
+     *
+     * @return the type or null if the cell is empty
+     */
+    public static ColumnType typeOf(CharSequence cell) {
+        int length = cell.length();
+        if (length == 0) {
+            return null;
+        }
+        if (equalsIgnoreCase(cell, "true") || equalsIgnoreCase(cell, "false")) {
+            return ColumnType.BOOLEAN;
+        }
+        if (isDateFormat(cell)) {
+            try {
+                parseDate(cell);
+                return ColumnType.DATE;
+            } catch (NumberFormatException e) {
+                return ColumnType.STRING;
+            }
+        }
+
+        int i = cell.charAt(0) == '-' || cell.charAt(0) == '+' ? 1 : 0;
+        int digits = 0;
+        boolean decimal = false;
+        for (; i < length; i++) {
+            char c = cell.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && !decimal) {
+                decimal = true;
+            } else break;
+        }
+        if (digits == 0) {
+            return ColumnType.STRING;
+        }
+        if (i < length) {
+            // an exponent, which needs at least one digit
+            if (cell.charAt(i) != 'e' && cell.charAt(i) != 'E') {
+                return ColumnType.STRING;
+            }
+            if (++i < length && (cell.charAt(i) == '-' || cell.charAt(i) == '+')) {
+                i++;
+            }
+            if (i == length) {
+                return ColumnType.STRING;
+            }
+            for (; i < length; i++) {
+                if (cell.charAt(i) < '0' || cell.charAt(i) > '9') {
+                    return ColumnType.STRING;
+                }
+            }
+            return ColumnType.DOUBLE;
+        }
+        if (decimal || digits > 18) {
+            return ColumnType.DOUBLE;
+        }
+        long value = parseLong(cell);
+        return value == (int) value ? ColumnType.INT : ColumnType.LONG;
+    }
+
+    private static boolean isDateFormat(CharSequence cell) {
+        if (cell.length() != 10 || cell.charAt(4) != '-' || cell.charAt(7) != '-') {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            char c = cell.charAt(i);
+            if (i != 4 && i != 7 && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digits(CharSequence cell, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (cell.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static boolean equalsIgnoreCase(CharSequence cell, String text) {
+        if (cell.length() != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.toLowerCase(cell.charAt(i)) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
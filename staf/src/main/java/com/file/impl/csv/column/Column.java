@@ -0,0 +1,143 @@
+package com.file.impl.csv.column; //@date 18.10.2026
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A growable vector holding the values of one column of a {@link com.file.impl.csv.CSVColumnTable}.
+ * Values are stored in primitive arrays, an empty cell of a column which does
+ * not hold text is stored as null.
+ */
+public abstract class Column {
+
+    static final int DEFAULT_CAPACITY = 16;
+
+    private final String name;
+
+    protected int size;
+
+    // the rows with an empty cell, null until there is one
+    private BitSet nulls;
+
+    // the text of the cells which is not the text of their value, like 007 or
+    // 1.50, null until there is one
+    private String[] texts;
+    private boolean  keepText;
+
+    protected Column(String name) {
+        this.name = name;
+    }
+
+    public static Column of(String name, ColumnType type) {
+        switch (type) {
+            case INT:     return new IntColumn(name);
+            case LONG:    return new LongColumn(name);
+            case DOUBLE:  return new DoubleColumn(name);
+            case BOOLEAN: return new BooleanColumn(name);
+            case DATE:    return new DateColumn(name);
+            default:      return new StringColumn(name);
+        }
+    }
+
+    /**
+     * @return a column of the given type with the values of the given column
+     * @throws NumberFormatException if a value is not a value of the type
+     */
+    public static Column convert(Column column, ColumnType type) {
+        Column converted = of(column.getName(), type);
+        converted.keepText = column.keepText;
+        for (int row = 0; row < column.size(); row++) {
+            converted.add(column.getText(row));
+        }
+        return converted;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public abstract ColumnType getType();
+
+    /**
+     * Appends the value of the given cell.
+     *
+     * @throws NumberFormatException if the cell is not a value of this column type
+     */
+    public abstract void add(CharSequence cell);
+
+    /**
+     * @return the value of the given row, boxed if it is a primitive
+     */
+    public abstract Object get(int row);
+
+    /**
+     * @return the text of the given cell, which is only the text it was added
+     *         with if that is {@link #setKeepText(boolean) kept}
+     */
+    public String getText(int row) {
+        checkIndex(row);
+        if (texts != null && row < texts.length && texts[row] != null) {
+            return texts[row];
+        }
+        Object value = get(row);
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * If set, the text of a cell is kept if it differs from the text of its
+     * value, so {@link #convert(Column, ColumnType)} does not change a cell
+     * like {@code 007}, {@code 1.50} or {@code TRUE}. Only the differing cells
+     * are kept.
+     */
+    public void setKeepText(boolean keepText) {
+        this.keepText = keepText;
+    }
+
+    /**
+     * Keeps the text of the cell which has been added last, if it is not the
+     * text of its value.
+     */
+    protected void keepText(CharSequence cell) {
+        if (!keepText || cell.length() == 0 || Cells.isCanonical(cell, getType())) {
+            return;
+        }
+        int row = size - 1;
+        if (texts == null) {
+            texts = new String[Math.max(DEFAULT_CAPACITY, size)];
+        } else if (row >= texts.length) {
+            texts = Arrays.copyOf(texts, Math.max(grow(texts.length), size));
+        }
+        texts[row] = cell.toString();
+    }
+
+    public boolean isNull(int row) {
+        checkIndex(row);
+        return nulls != null && nulls.get(row);
+    }
+
+    protected void setNull(int row) {
+        if (nulls == null) {
+            nulls = new BitSet();
+        }
+        nulls.set(row);
+    }
+
+    protected void checkIndex(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        }
+    }
+
+    static int grow(int capacity) {
+        return capacity < DEFAULT_CAPACITY ? DEFAULT_CAPACITY : capacity + (capacity >> 1);
+    }
+
+    @Override
+    public String toString() {
+        return name + ":" + getType();
+    }
+}
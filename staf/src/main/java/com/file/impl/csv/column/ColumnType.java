@@ -0,0 +1,41 @@
+package com.file.impl.csv.column; //@date 18.10.2026
+
+/**
+ * The type of the values of a {@link Column}. The numeric types are ordered
+ * from the narrowest to the widest one.
+ */
+public enum ColumnType {
+
+    INT,
+    LONG,
+    DOUBLE,
+    BOOLEAN,
+    DATE,
+    STRING;
+
+    /**
+     * @return the narrowest type of the given cell or null if it is empty
+     * @see Cells#typeOf(CharSequence)
+     */
+    public static ColumnType of(CharSequence cell) {
+        return Cells.typeOf(cell);
+    }
+
+    public boolean isNumeric() {
+        return this == INT || this == LONG || this == DOUBLE;
+    }
+
+    /**
+     * @return the narrowest type which holds the values of this type and the
+     *         given one, which is ignored if it is null
+     */
+    public ColumnType widen(ColumnType type) {
+        if (type == null || type == this) {
+            return this;
+        }
+        if (isNumeric() && type.isNumeric()) {
+            return compareTo(type) > 0 ? this : type;
+        }
+        return STRING;
+    }
+}
@@ -0,0 +1,54 @@
+package com.file.impl.csv.column; //@date 18.10.2026
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * A column of ISO dates, which are stored as epoch days.
+ */
+public class DateColumn extends Column {
+
+    private int[] days = new int[DEFAULT_CAPACITY];
+
+    public DateColumn(String name) {
+        super(name);
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.DATE;
+    }
+
+    @Override
+    public void add(CharSequence cell) {
+        if (cell.length() == 0) {
+            addNull();
+        } else addEpochDay(Cells.parseDate(cell));
+        keepText(cell);
+    }
+
+    public void addEpochDay(int day) {
+        if (size == days.length) {
+            days = Arrays.copyOf(days, grow(size));
+        }
+        days[size++] = day;
+    }
+
+    public void addNull() {
+        setNull(size);
+        addEpochDay(0);
+    }
+
+    /**
+     * @return the epoch day of the given row, 0 if the cell is empty
+     */
+    public int getEpochDay(int row) {
+        checkIndex(row);
+        return days[row];
+    }
+
+    @Override
+    public LocalDate get(int row) {
+        return isNull(row) ? null : LocalDate.ofEpochDay(days[row]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.file.impl.csv.column; //@date 18.10.2026
+
+import java.util.Arrays;
+
+public class DoubleColumn extends Column {
+
+    private double[] values = new double[DEFAULT_CAPACITY];
+
+    public DoubleColumn(String name) {
+        super(name);
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.DOUBLE;
+    }
+
+    @Override
+    public void add(CharSequence cell) {
+        if (cell.length() == 0) {
+            addNull();
+        } else add(Cells.parseDouble(cell));
+        keepText(cell);
+    }
+
+    public void add(double value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, grow(size));
+        }
+        values[size++] = value;
+    }
+
+    public void addNull() {
+        setNull(size);
+        add((double) 0);
+    }
+
+    /**
+     * @return the value of the given row, 0 if the cell is empty
+     */
+    public double getDouble(int row) {
+        checkIndex(row);
+        return values[row];
+    }
+
+    @Override
+    public Double get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+}
@@ -0,0 +1,50 @@
+package com.file.impl.csv.column; //@date 18.10.2026
+
+import java.util.Arrays;
+
+public class IntColumn extends Column {
+
+    private int[] values = new int[DEFAULT_CAPACITY];
+
+    public IntColumn(String name) {
+        super(name);
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.INT;
+    }
+
+    @Override
+    public void add(CharSequence cell) {
+        if (cell.length() == 0) {
+            addNull();
+        } else add(Cells.parseInt(cell));
+        keepText(cell);
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, grow(size));
+        }
+        values[size++] = value;
+    }
+
+    public void addNull() {
+        setNull(size);
+        add(0);
+    }
+
+    /**
+     * @return the value of the given row, 0 if the cell is empty
+     */
+    public int getInt(int row) {
+        checkIndex(row);
+        return values[row];
+    }
+
+    @Override
+    public Integer get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+}
@@ -0,0 +1,50 @@
+package com.file.impl.csv.column; //@date 18.10.2026
+
+import java.util.Arrays;
+
+public class LongColumn extends Column {
+
+    private long[] values = new long[DEFAULT_CAPACITY];
+
+    public LongColumn(String name) {
+        super(name);
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.LONG;
+    }
+
+    @Override
+    public void add(CharSequence cell) {
+        if (cell.length() == 0) {
+            addNull();
+        } else add(Cells.parseLong(cell));
+        keepText(cell);
+    }
+
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, grow(size));
+        }
+        values[size++] = value;
+    }
+
+    public void addNull() {
+        setNull(size);
+        add((long) 0);
+    }
+
+    /**
+     * @return the value of the given row, 0 if the cell is empty
+     */
+    public long getLong(int row) {
+        checkIndex(row);
+        return values[row];
+    }
+
+    @Override
+    public Long get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+}
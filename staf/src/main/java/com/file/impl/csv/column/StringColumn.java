@@ -0,0 +1,98 @@
+package com.file.impl.csv.column; //@date 18.10.2026
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A dictionary encoded text column: every distinct value is stored once and
+ * each row only holds the code of its value. Columns with few distinct values,
+ * like names or categories, need four bytes per row this way.
+ * <p>
+ * The dictionary is looked up with the text of the cell, so a {@link String} is
+ * only created for a value which is not in the dictionary yet.
+ */
+public class StringColumn extends Column {
+
+    private int[] codes = new int[DEFAULT_CAPACITY];
+
+    private final List<String> dictionary = new ArrayList<>();
+
+    // open addressing table of the codes plus one, 0 marks a free slot
+    private int[] slots = new int[DEFAULT_CAPACITY];
+
+    public StringColumn(String name) {
+        super(name);
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.STRING;
+    }
+
+    @Override
+    public void add(CharSequence cell) {
+        int mask = slots.length - 1;
+        int slot = hash(cell) & mask;
+        int code;
+        while ((code = slots[slot] - 1) >= 0 && !dictionary.get(code).contentEquals(cell)) {
+            slot = (slot + 1) & mask;
+        }
+        if (code < 0) {
+            code = dictionary.size();
+            dictionary.add(cell.toString());
+            slots[slot] = code + 1;
+            if (dictionary.size() << 1 > slots.length) {
+                rehash();
+            }
+        }
+
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, grow(size));
+        }
+        codes[size++] = code;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length << 1];
+        int mask = slots.length - 1;
+        for (int code = 0; code < dictionary.size(); code++) {
+            int slot = hash(dictionary.get(code)) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = code + 1;
+        }
+    }
+
+    // the same as String#hashCode, so the dictionary values use their cached hash
+    private static int hash(CharSequence text) {
+        int hash;
+        if (text instanceof String) {
+            hash = text.hashCode();
+        } else {
+            hash = 0;
+            for (int i = 0; i < text.length(); i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return the index of the value of the given row in {@link #getDictionary()}
+     */
+    public int getCode(int row) {
+        checkIndex(row);
+        return codes[row];
+    }
+
+    public List<String> getDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public String get(int row) {
+        return dictionary.get(getCode(row));
+    }
+}
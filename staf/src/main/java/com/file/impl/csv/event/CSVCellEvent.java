@@ -25,10 +25,17 @@ public class CSVCellEvent implements LangEvent, CSVConstants {
         column = c;
     }
 
+    @Override
+    public CharSequence getText() {
+        return content;
+    }
+
+    @Override
     public int getRow() {
         return row;
     }
 
+    @Override
     public int getColumn() {
         return column;
     }
@@ -37,6 +44,13 @@ public class CSVCellEvent implements LangEvent, CSVConstants {
         return content;
     }
 
+    @Override
+    public CSVCellEvent copy() {
+        CSVCellEvent event = new CSVCellEvent();
+        event.setValues(content, row, column);
+        return event;
+    }
+
     @Override
     public String toString() {
         return "CSVCellEvent{row=" + row + ", column=" + column + ", content='" + content + "'}";
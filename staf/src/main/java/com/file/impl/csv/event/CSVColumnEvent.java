@@ -15,6 +15,18 @@ public class CSVColumnEvent implements LangEvent, CSVConstants {
         this.columnName = columnName;
     }
 
+    @Override
+    public CharSequence getText() {
+        return columnName;
+    }
+
+    @Override
+    public CSVColumnEvent copy() {
+        CSVColumnEvent event = new CSVColumnEvent();
+        event.setColumnName(columnName);
+        return event;
+    }
+
     @Override
     public int getType() {
         return CSV_COLUMN_EVENT;
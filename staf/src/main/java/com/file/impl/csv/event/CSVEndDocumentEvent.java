@@ -9,6 +9,13 @@ public class CSVEndDocumentEvent extends CSVCellEvent implements CSVConstants {
         return CSV_EOF_EVENT;
     }
 
+    @Override
+    public CSVEndDocumentEvent copy() {
+        CSVEndDocumentEvent event = new CSVEndDocumentEvent();
+        event.setValues(getContent(), getRow(), getColumn());
+        return event;
+    }
+
     public boolean eof() {
         return true;
     }
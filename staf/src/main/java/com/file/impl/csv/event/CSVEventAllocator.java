@@ -8,6 +8,24 @@ import com.file.stream.LangEvent;
 
 public class CSVEventAllocator implements EventAllocator {
 
+    private final boolean recycle;
+
+    // the reused events if recycling is enabled
+    private final CSVCellEvent        cellEvent     = new CSVCellEvent();
+    private final CSVColumnEvent      columnEvent   = new CSVColumnEvent();
+    private final CSVEndDocumentEvent endOfDocument = new CSVEndDocumentEvent();
+
+    public CSVEventAllocator() {
+        this(false);
+    }
+
+    /**
+     * @param recycle if true, one event per type is reused, see {@link LangEvent}
+     */
+    public CSVEventAllocator(boolean recycle) {
+        this.recycle = recycle;
+    }
+
     @Override
     public LangEvent allocate(FragmentFileScanner fragmentFileScanner) {
         if (!(fragmentFileScanner instanceof CSVFragmentedScanner)) {
@@ -19,19 +37,19 @@ public class CSVEventAllocator implements EventAllocator {
 
         switch (scanner.getEventType()) {
             case CSVConstants.CSV_CELL_EVENT:
-                CSVCellEvent cellEvent = new CSVCellEvent();
+                CSVCellEvent cellEvent = recycle ? this.cellEvent : new CSVCellEvent();
                 cellEvent.setValues(scanner.getTextElement(), scanner.getRow(), scanner.getColumn());
                 event = cellEvent;
                 break;
 
             case CSVConstants.CSV_COLUMN_EVENT:
-                CSVColumnEvent columnEvent = new CSVColumnEvent();
+                CSVColumnEvent columnEvent = recycle ? this.columnEvent : new CSVColumnEvent();
                 columnEvent.setColumnName(scanner.getTextElement());
                 event = columnEvent;
                 break;
 
             case CSVConstants.CSV_EOF_EVENT:
-                CSVEndDocumentEvent cellEvent1 = new CSVEndDocumentEvent();
+                CSVEndDocumentEvent cellEvent1 = recycle ? endOfDocument : new CSVEndDocumentEvent();
                 cellEvent1.setValues(scanner.getTextElement(), scanner.getRow(), scanner.getColumn());
                 event = cellEvent1;
                 break;
@@ -39,4 +57,9 @@ public class CSVEventAllocator implements EventAllocator {
 
         return event;
     }
+
+    @Override
+    public boolean isRecycling() {
+        return recycle;
+    }
 }
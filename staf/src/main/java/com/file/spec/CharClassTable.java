@@ -0,0 +1,87 @@
+package com.file.spec; //@date 18.10.2026
+
+/**
+ * A compiled form of a {@link CharSetSpec}. The classes of the first 256 chars
+ * are looked up in a table which is built once, all other chars are passed to
+ * the wrapped spec.
+ * <p>
+ * The scanners use this class instead of the spec itself, so their hot loops
+ * contain one array access instead of an interface call per char.
+ */
+public final class CharClassTable implements CharSetSpec {
+
+    public static final int NEW_LINE  = 1;
+    public static final int SPACE     = 1 << 1;
+    public static final int DELIMITER = 1 << 2;
+    public static final int QUOTE     = 1 << 3;
+
+    private static final int TABLE_SIZE = 0x100;
+
+    private final CharSetSpec spec;
+    private final byte[]      table = new byte[TABLE_SIZE];
+
+    private CharClassTable(CharSetSpec spec) {
+        this.spec = spec;
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            char c = (char) i;
+            int  classes = 0;
+            if (spec.isNewLine(c))   classes |= NEW_LINE;
+            if (spec.isSpace(c))     classes |= SPACE;
+            if (spec.isDelimiter(c)) classes |= DELIMITER;
+            if (spec.isQuote(c))     classes |= QUOTE;
+            table[i] = (byte) classes;
+        }
+    }
+
+    public static CharClassTable of(CharSetSpec spec) {
+        return spec instanceof CharClassTable ? (CharClassTable) spec : new CharClassTable(spec);
+    }
+
+    /**
+     * @return the classes of the given char as a combination of {@link #NEW_LINE},
+     *         {@link #SPACE}, {@link #DELIMITER} and {@link #QUOTE}
+     */
+    public int classesOf(char c) {
+        if (c < TABLE_SIZE) {
+            return table[c];
+        }
+        // slow path
+        int classes = 0;
+        if (spec.isNewLine(c))   classes |= NEW_LINE;
+        if (spec.isSpace(c))     classes |= SPACE;
+        if (spec.isDelimiter(c)) classes |= DELIMITER;
+        if (spec.isQuote(c))     classes |= QUOTE;
+        return classes;
+    }
+
+    /**
+     * @return true if the given char belongs to at least one of the given classes
+     */
+    public boolean is(char c, int classes) {
+        return (classesOf(c) & classes) != 0;
+    }
+
+    @Override
+    public boolean isNewLine(char cc) {
+        return cc < TABLE_SIZE ? (table[cc] & NEW_LINE) != 0 : spec.isNewLine(cc);
+    }
+
+    @Override
+    public boolean isSpace(char cc) {
+        return cc < TABLE_SIZE ? (table[cc] & SPACE) != 0 : spec.isSpace(cc);
+    }
+
+    @Override
+    public boolean isDelimiter(char cc) {
+        return cc < TABLE_SIZE ? (table[cc] & DELIMITER) != 0 : spec.isDelimiter(cc);
+    }
+
+    @Override
+    public boolean isQuote(char cc) {
+        return cc < TABLE_SIZE ? (table[cc] & QUOTE) != 0 : spec.isQuote(cc);
+    }
+
+    public CharSetSpec getSpec() {
+        return spec;
+    }
+}
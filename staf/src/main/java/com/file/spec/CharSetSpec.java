@@ -5,4 +5,12 @@ public interface CharSetSpec {
     boolean isNewLine(char cc);
 
     boolean isSpace(char cc);
+
+    default boolean isDelimiter(char cc) {
+        return false;
+    }
+
+    default boolean isQuote(char cc) {
+        return false;
+    }
 }
@@ -5,4 +5,11 @@ import com.file.FragmentFileScanner;
 public interface EventAllocator {
 
     LangEvent allocate(FragmentFileScanner fragmentFileScanner);
+
+    /**
+     * @return true if this allocator reuses its events, see {@link LangEvent}
+     */
+    default boolean isRecycling() {
+        return false;
+    }
 }
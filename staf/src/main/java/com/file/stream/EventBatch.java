@@ -0,0 +1,136 @@
+package com.file.stream; //@date 18.10.2026
+
+import com.file.TokenSlice;
+
+/**
+ * A block of events in structure-of-arrays form, filled by {@link LangStream#fill(EventBatch)}.
+ * The event at index {@code i} is described by {@code types[i]}, {@code rows[i]},
+ * {@code columns[i]} and its text, which is located at {@code offsets[i]} with
+ * {@code lengths[i]} chars in {@link #getChars()}.
+ * <p>
+ * The text of all events is copied into one char array owned by this batch,
+ * because the scanner buffer is overwritten while the batch is filled. No
+ * objects are created per event.
+ */
+public final class EventBatch {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    public final int[] types;
+    public final int[] offsets;
+    public final int[] lengths;
+    public final int[] rows;
+    public final int[] columns;
+
+    private char[] chars;
+    private int    charCount;
+    private int    size;
+
+    public EventBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EventBatch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("invalid capacity: " + capacity);
+        }
+        types   = new int[capacity];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        rows    = new int[capacity];
+        columns = new int[capacity];
+        chars   = new char[capacity * 16];
+    }
+
+    /**
+     * Appends an event to this batch.
+     *
+     * @return false if the batch is already full
+     */
+    public boolean add(int type, CharSequence text, int row, int column) {
+        if (size == types.length) {
+            return false;
+        }
+        int length = text == null ? 0 : text.length();
+        if (charCount + length > chars.length) {
+            char[] array = new char[Math.max(charCount + length, chars.length << 1)];
+            System.arraycopy(chars, 0, array, 0, charCount);
+            chars = array;
+        }
+
+        if (text instanceof TokenSlice) {
+            TokenSlice slice = (TokenSlice) text;
+            if (length > 0) {
+                System.arraycopy(slice.getArray(), slice.getOffset(), chars, charCount, length);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                chars[charCount + i] = text.charAt(i);
+            }
+        }
+
+        types[size]   = type;
+        offsets[size] = charCount;
+        lengths[size] = length;
+        rows[size]    = row;
+        columns[size] = column;
+        charCount += length;
+        size++;
+        return true;
+    }
+
+    public void clear() {
+        size      = 0;
+        charCount = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return types.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return size == types.length;
+    }
+
+    /**
+     * Returns the array containing the text of all events. It is replaced when
+     * the batch has to grow, so it should be fetched after the batch is filled.
+     */
+    public char[] getChars() {
+        return chars;
+    }
+
+    public String getText(int index) {
+        checkIndex(index);
+        return new String(chars, offsets[index], lengths[index]);
+    }
+
+    public boolean textEquals(int index, CharSequence cs) {
+        checkIndex(index);
+        int length = lengths[index];
+        if (cs.length() != length) {
+            return false;
+        }
+        int offset = offsets[index];
+        for (int i = 0; i < length; i++) {
+            if (chars[offset + i] != cs.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+}
@@ -1,6 +1,42 @@
 package com.file.stream;//@date 30.03.2022
 
+/**
+ * An event created by an {@link EventAllocator}.
+ * <p>
+ * <strong>Note:</strong> A recycling allocator hands out the same instance for
+ * every event of a type, so such an event is only valid until the next event is
+ * requested from the stream. Use {@link #copy()} to retain it.
+ */
 public interface LangEvent {
 
     int getType();
+
+    /**
+     * @return the text of this event, null if it has none
+     */
+    default CharSequence getText() {
+        return null;
+    }
+
+    /**
+     * @return the row of this event, -1 if it is not located in the input
+     */
+    default int getRow() {
+        return -1;
+    }
+
+    /**
+     * @return the column of this event, -1 if it is not located in the input
+     */
+    default int getColumn() {
+        return -1;
+    }
+
+    /**
+     * Returns an instance with the same content which is not reused by any
+     * allocator. Immutable events may return themselves.
+     */
+    default LangEvent copy() {
+        return this;
+    }
 }
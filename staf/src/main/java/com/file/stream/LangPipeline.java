@@ -3,10 +3,16 @@ package com.file.stream; //@date 30.03.2022
 import com.file.FileScanner;
 import com.file.FragmentFileScanner;
 import com.file.InputFactory;
+import com.file.NeedMoreInputException;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.text.ParseException;
+import java.util.Objects;
 
 public abstract class LangPipeline<S extends LangStream<S>> implements LangStream<S> {
 
@@ -18,10 +24,178 @@ public abstract class LangPipeline<S extends LangStream<S>> implements LangStrea
     protected LangEvent peekedEvent;
     protected LangEvent lastEvent;
 
+    // the accepted event types, null if all events are accepted
+    protected int[] eventFilter;
+
     private boolean done = false;
 
     public LangPipeline() {}
 
+    public abstract S setSource(FileScanner scanner);
+
+    @Override
+    public S setSource(File source) throws IOException {
+        Objects.requireNonNull(source);
+        if (factory == null) throw new NullPointerException("factory is null");
+
+        return setSource(factory.createFileScanner(source));
+    }
+
+    public S setSource(InputStream source, Charset charset) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(charset);
+        if (factory == null) throw new NullPointerException("factory is null");
+
+        return setSource(factory.createFileScanner(source, charset));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (fragmentFileScanner != null) {
+            fragmentFileScanner.getScanner().getEntity().close();
+        }
+    }
+
+    /**
+     * Restricts the events of this stream to the given types. The filter is
+     * pushed down to the fragment scanner, so unwanted events are never
+     * allocated and their text is skipped if the driver supports it. Without
+     * any types all events are returned.
+     */
+    public void setEventFilter(int... types) {
+        eventFilter = types == null ? null : types.clone();
+        if (fragmentFileScanner != null) {
+            fragmentFileScanner.setEventFilter(eventFilter);
+        }
+    }
+
+    /**
+     * Passes the filters of this stream to a new fragment scanner. Called by
+     * subclasses when a source is set.
+     */
+    protected void applyFilters(FragmentFileScanner scanner) {
+        scanner.setEventFilter(eventFilter);
+    }
+
+    /**
+     * Feeds the next chunk of the input if the source was created with
+     * {@link InputFactory#createFeedFileScanner()}. In this mode the methods
+     * pulling events throw a {@link NeedMoreInputException} once all fed data
+     * has been consumed, until {@link #endOfInput()} has been called.
+     */
+    public void feed(CharSequence chunk) {
+        fragmentFileScanner.feed(chunk);
+    }
+
+    public void feed(char[] chunk, int offset, int length) {
+        fragmentFileScanner.feed(chunk, offset, length);
+    }
+
+    public void feed(ByteBuffer chunk) {
+        fragmentFileScanner.feed(chunk);
+    }
+
+    public void endOfInput() {
+        fragmentFileScanner.endOfInput();
+    }
+
+    /**
+     * Runs the fragment scanner in a loop and passes each event with the type
+     * reported by the scanner to the given handler. Other than pulling events
+     * with {@link #nextEvent()}, no state is checked or stored between events.
+     */
+    @Override
+    public boolean drainTo(EventHandler handler) throws IOException, ParseException {
+        Objects.requireNonNull(handler);
+        if (peekedEvent != null) {
+            LangEvent event = peekedEvent;
+            peekedEvent = null;
+            if (!handler.onEvent(event.getType(), event)) {
+                return false;
+            }
+        }
+
+        final FragmentFileScanner scanner   = fragmentFileScanner;
+        final EventAllocator      allocator = this.allocator;
+        while (scanner.hasNext()) {
+            int status = scanner.next();
+            if (status == FragmentFileScanner.NEED_MORE_INPUT) {
+                throw new NeedMoreInputException();
+            }
+            if (status == FragmentFileScanner.NO_EVENT) {
+                break;
+            }
+            int       type  = scanner.getEventType();
+            LangEvent event = allocator.allocate(scanner);
+            if (!handler.onEvent(type, event)) {
+                lastEvent = event;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int nextEvents(LangEvent[] batch) throws IOException, ParseException {
+        final FragmentFileScanner scanner   = fragmentFileScanner;
+        final EventAllocator      allocator = this.allocator;
+        final boolean             copy      = allocator.isRecycling();
+
+        int count = 0;
+        if (peekedEvent != null && batch.length > 0) {
+            batch[count++] = copy ? peekedEvent.copy() : peekedEvent;
+            peekedEvent = null;
+        }
+        while (count < batch.length && scanner.hasNext()) {
+            int status = scanner.next();
+            if (status == FragmentFileScanner.NEED_MORE_INPUT) {
+                if (count == 0) {
+                    throw new NeedMoreInputException();
+                }
+                break;
+            }
+            if (status == FragmentFileScanner.NO_EVENT) {
+                break;
+            }
+            LangEvent event = allocator.allocate(scanner);
+            batch[count++] = copy ? event.copy() : event;
+        }
+        if (count > 0) {
+            lastEvent = batch[count - 1];
+        }
+        return count;
+    }
+
+    /**
+     * Fills the given batch straight from the fragment scanner, so no event
+     * objects are created at all.
+     */
+    @Override
+    public int fill(EventBatch batch) throws IOException, ParseException {
+        batch.clear();
+
+        final FragmentFileScanner scanner = fragmentFileScanner;
+        if (peekedEvent != null) {
+            // the scanner is still positioned on the peeked event
+            batch.add(peekedEvent.getType(), scanner.getText(), scanner.getRow(), scanner.getColumn());
+            peekedEvent = null;
+        }
+        while (!batch.isFull() && scanner.hasNext()) {
+            int status = scanner.next();
+            if (status == FragmentFileScanner.NEED_MORE_INPUT) {
+                if (batch.isEmpty()) {
+                    throw new NeedMoreInputException();
+                }
+                break;
+            }
+            if (status == FragmentFileScanner.NO_EVENT) {
+                break;
+            }
+            batch.add(scanner.getEventType(), scanner.getText(), scanner.getRow(), scanner.getColumn());
+        }
+        lastEvent = null;
+        return batch.size();
+    }
 
     @Override
     public boolean hasNext() {
@@ -46,7 +220,14 @@ public abstract class LangPipeline<S extends LangStream<S>> implements LangStrea
             return lastEvent;
         }
         if (hasNext()) {
-            fragmentFileScanner.next();
+            int status = fragmentFileScanner.next();
+            if (status == FragmentFileScanner.NEED_MORE_INPUT) {
+                throw new NeedMoreInputException();
+            }
+            // the remaining events were filtered
+            if (status == FragmentFileScanner.NO_EVENT) {
+                return lastEvent = null;
+            }
             return lastEvent = allocator.allocate(fragmentFileScanner);
         }
         lastEvent = null;
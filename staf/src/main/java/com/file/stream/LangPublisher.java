@@ -0,0 +1,181 @@
+package com.file.stream; //@date 18.10.2026
+
+import com.file.ThreadFactories;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Flow.Publisher} for the events of a {@link LangStream}. The stream is
+ * parsed on the given {@link Executor} and only as far as the subscriber has
+ * requested events, so a slow subscriber never causes events to be buffered.
+ * <p>
+ * Each demand signal is served in batches of up to {@link #getBatchSize()} events
+ * with {@link LangStream#nextEvents(LangEvent[])}, therefore the published events
+ * are never recycled. A stream can be consumed only once, so there can be one
+ * subscriber only.
+ */
+public class LangPublisher implements Flow.Publisher<LangEvent> {
+
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final ThreadFactory THREAD_FACTORY = ThreadFactories.newThreadFactory("lang-publisher");
+
+    private final LangStream<?> stream;
+    private final Executor      executor;
+    private final int           batchSize;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Parses on a new thread for each demand signal that finds the publisher
+     * idle, see {@link ThreadFactories#newThreadFactory(String)}.
+     */
+    public LangPublisher(LangStream<?> stream) {
+        this(stream, runnable -> THREAD_FACTORY.newThread(runnable).start());
+    }
+
+    public LangPublisher(LangStream<?> stream, Executor executor) {
+        this(stream, executor, DEFAULT_BATCH_SIZE);
+    }
+
+    public LangPublisher(LangStream<?> stream, Executor executor, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("invalid batch size: " + batchSize);
+        }
+        this.stream    = Objects.requireNonNull(stream);
+        this.executor  = Objects.requireNonNull(executor);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super LangEvent> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override public void request(long n) {}
+                @Override public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("the stream has already been subscribed"));
+            return;
+        }
+        subscriber.onSubscribe(new EventSubscription(subscriber));
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    private class EventSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super LangEvent> subscriber;
+        private final LangEvent[] batch = new LangEvent[batchSize];
+
+        private final AtomicLong    demand = new AtomicLong();
+        // number of signals not seen by the running drain loop, the loop is
+        // scheduled if this changes from 0
+        private final AtomicInteger signals = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        // only accessed by the drain loop
+        private boolean done;
+
+        EventSubscription(Flow.Subscriber<? super LangEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("non-positive request: " + n);
+            } else {
+                // add without overflow, Long.MAX_VALUE means unbounded
+                demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            signal();
+        }
+
+        private void signal() {
+            if (signals.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RuntimeException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = signals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            while (!done) {
+                if (cancelled) {
+                    done = true;
+                    return;
+                }
+                if (error != null) {
+                    done = true;
+                    subscriber.onError(error);
+                    return;
+                }
+
+                long requested = demand.get();
+                if (requested == 0) {
+                    return;
+                }
+
+                // never parse more events than requested
+                LangEvent[] events = requested >= batch.length ? batch : new LangEvent[(int) requested];
+                int count;
+                try {
+                    count = stream.nextEvents(events);
+                } catch (IOException | ParseException | RuntimeException e) {
+                    done = true;
+                    subscriber.onError(e);
+                    return;
+                }
+                if (count == 0) {
+                    done = true;
+                    subscriber.onComplete();
+                    return;
+                }
+
+                if (requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-count);
+                }
+                for (int i = 0; i < count; i++) {
+                    if (cancelled) {
+                        done = true;
+                        return;
+                    }
+                    LangEvent event = events[i];
+                    events[i] = null;
+                    subscriber.onNext(event);
+                }
+            }
+        }
+    }
+}
@@ -5,7 +5,11 @@ import com.file.InputFactory;
 import java.io.*;
 import java.text.ParseException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface LangStream<S extends LangStream<S>> {
 
@@ -17,7 +21,119 @@ public interface LangStream<S extends LangStream<S>> {
 
     LangEvent nextEvent() throws IOException, ParseException;
 
-    default void forEach(Consumer<? super LangEvent> consumer) {}
+    /**
+     * Stores up to {@code batch.length} events in the given array. The stored
+     * events are never recycled.
+     *
+     * @return the number of events stored, 0 at the end of the input
+     */
+    default int nextEvents(LangEvent[] batch) throws IOException, ParseException {
+        int count = 0;
+        while (count < batch.length && hasNext()) {
+            batch[count++] = nextEvent().copy();
+        }
+        return count;
+    }
+
+    /**
+     * Clears the given batch and fills it with up to {@link EventBatch#capacity()}
+     * events. The text, row and column are taken from {@link LangEvent}, pipelines
+     * fill the batch straight from their scanner instead.
+     *
+     * @return the number of events in the batch, 0 at the end of the input
+     */
+    default int fill(EventBatch batch) throws IOException, ParseException {
+        batch.clear();
+        while (!batch.isFull() && hasNext()) {
+            LangEvent event = nextEvent();
+            if (event == null) {
+                break;
+            }
+            batch.add(event.getType(), event.getText(), event.getRow(), event.getColumn());
+        }
+        return batch.size();
+    }
+
+    /**
+     * Passes every remaining event to the given consumer. Checked exceptions
+     * are rethrown as {@link UncheckedIOException} or {@link IllegalStateException}.
+     */
+    default void forEach(Consumer<? super LangEvent> consumer) {
+        Objects.requireNonNull(consumer);
+        try {
+            drainTo((type, event) -> {
+                consumer.accept(event);
+                return true;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Pushes every remaining event to the given handler until the end of the
+     * input is reached or the handler returns {@code false}.
+     *
+     * @return true if the whole input was consumed
+     */
+    default boolean drainTo(EventHandler handler) throws IOException, ParseException {
+        Objects.requireNonNull(handler);
+        while (hasNext()) {
+            LangEvent event = nextEvent();
+            if (!handler.onEvent(event.getType(), event)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the remaining events as a sequential {@link Stream}. The events are
+     * pulled lazily in small batches with {@link #nextEvents(LangEvent[])}, so they
+     * are never recycled and can be collected or handed to other threads. Checked
+     * exceptions are rethrown as {@link UncheckedIOException} or {@link IllegalStateException}.
+     */
+    default Stream<LangEvent> events() {
+        Spliterator<LangEvent> spliterator = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+
+            private final LangEvent[] batch = new LangEvent[64];
+            private int index, count;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super LangEvent> action) {
+                try {
+                    while (true) {
+                        if (index == count) {
+                            index = 0;
+                            if ((count = nextEvents(batch)) == 0) {
+                                return false;
+                            }
+                        }
+                        LangEvent event = batch[index];
+                        batch[index++] = null;
+                        if (event != null) {
+                            action.accept(event);
+                            return true;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ParseException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Closes the source of this stream, e.g. if it is not read to the end. A
+     * source is closed on its own once its end has been reached.
+     */
+    default void close() throws IOException {}
 
     default S setSource(String src) throws IOException {
         Objects.requireNonNull(src);
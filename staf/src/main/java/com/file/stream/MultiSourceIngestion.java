@@ -0,0 +1,411 @@
+package com.file.stream; //@date 18.10.2026
+
+import com.file.InputFactory;
+import com.file.ThreadFactories;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Parses many sources concurrently, each with a fresh stream from the given
+ * supplier which is configured with the given {@link InputFactory}. Opening a
+ * source (allocating its buffers, scanners and event allocator) and reading it
+ * overlap with the parsing of the other sources instead of running one after
+ * another.
+ * <p>
+ * Every source is parsed on a virtual thread if the JVM supports them, otherwise
+ * on a fixed pool of {@code maxConcurrency} daemon threads. At most
+ * {@code maxConcurrency} sources are open at the same time in either case.
+ * <p>
+ * The results or events of all sources are passed to the calling thread, either
+ * in the order of the given sources or as soon as they are available. The first
+ * error stops all sources which have not been started yet and is rethrown on the
+ * calling thread.
+ */
+public class MultiSourceIngestion<S extends LangStream<S>> implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = Runtime.getRuntime().availableProcessors() << 2;
+
+    // events are passed in chunks to keep the number of queue operations low
+    private static final int CHUNK_SIZE = 256;
+    private static final int CHUNKS     = 16;
+
+    private final InputFactory          factory;
+    private final Supplier<? extends S> streams;
+    private final Semaphore             permits;
+    private final int                   maxConcurrency;
+    private final ThreadFactory         threadFactory;
+
+    // null if virtual threads are used
+    private final ExecutorService pool;
+
+    public MultiSourceIngestion(InputFactory factory, Supplier<? extends S> streams) {
+        this(factory, streams, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    public MultiSourceIngestion(InputFactory factory, Supplier<? extends S> streams, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("invalid concurrency: " + maxConcurrency);
+        }
+        this.factory = Objects.requireNonNull(factory);
+        this.streams = Objects.requireNonNull(streams);
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+
+        ThreadFactory virtual = ThreadFactories.newVirtualThreadFactory("ingestion");
+        if (virtual != null) {
+            threadFactory = virtual;
+            pool          = null;
+        } else {
+            threadFactory = ThreadFactories.newDaemonThreadFactory("ingestion");
+            pool          = Executors.newFixedThreadPool(maxConcurrency, threadFactory);
+        }
+    }
+
+    /**
+     * Applies the given function to the stream of each source, which is closed
+     * once the function returns.
+     *
+     * @return the results in the order of the given sources
+     */
+    public <R> List<R> map(List<Path> sources, SourceFunction<? super S, ? extends R> function) throws IOException, ParseException {
+        Objects.requireNonNull(function);
+        Run run = new Run();
+
+        List<Future<R>> futures = new ArrayList<>(sources.size());
+        try {
+            for (Path source : sources) {
+                if (run.failure != null) {
+                    break;
+                }
+                futures.add(submit(run, () -> apply(function, source)));
+            }
+
+            List<R> results = new ArrayList<>(futures.size());
+            for (Future<R> future : futures) {
+                results.add(get(future));
+            }
+            return results;
+        } finally {
+            run.cancelled = true;
+        }
+    }
+
+    /**
+     * Applies the given function to the stream of each source and passes the
+     * results to the consumer as soon as they are available. The consumer is
+     * called on the calling thread. The stream is closed once the function
+     * returns.
+     */
+    public <R> void mapUnordered(List<Path> sources, SourceFunction<? super S, ? extends R> function,
+                                 BiConsumer<? super Path, ? super R> consumer) throws IOException, ParseException {
+        Objects.requireNonNull(function);
+        Objects.requireNonNull(consumer);
+        Run run = new Run();
+
+        BlockingQueue<Chunk> results = new LinkedBlockingQueue<>();
+        startAll(run, sources, index -> {
+            Object result = apply(function, sources.get(index));
+            results.add(new Chunk(index, result, null));
+        }, index -> results);
+
+        try {
+            for (int finished = 0; finished < sources.size(); finished++) {
+                Chunk chunk = take(results);
+                if (chunk.error != null) {
+                    rethrow(chunk.error);
+                }
+                @SuppressWarnings("unchecked")
+                R result = (R) chunk.value;
+                consumer.accept(sources.get(chunk.source), result);
+            }
+        } finally {
+            run.cancelled = true;
+        }
+    }
+
+    /**
+     * Pushes the events of all sources to the given handler, which is called on
+     * the calling thread. If {@code ordered} is true, all events of a source are
+     * passed before the events of the next source, otherwise the events of
+     * different sources are interleaved, but the events of each source stay in
+     * order. Returning {@code false} from the handler stops all sources.
+     *
+     * @return true if all sources were consumed
+     */
+    public boolean drainTo(List<Path> sources, boolean ordered, SourceEventHandler handler) throws IOException, ParseException {
+        Objects.requireNonNull(handler);
+        Run run = new Run();
+
+        // one queue per source if the order has to be kept, so a source can
+        // go on while the handler is busy with the events of another one
+        int queueCount = ordered ? sources.size() : 1;
+        List<BlockingQueue<Chunk>> queues = new ArrayList<>(queueCount);
+        for (int i = 0; i < queueCount; i++) {
+            queues.add(new LinkedBlockingQueue<>(ordered ? CHUNKS : CHUNKS * maxConcurrency));
+        }
+
+        startAll(run, sources, index -> {
+            BlockingQueue<Chunk> queue = queues.get(ordered ? index : 0);
+            S stream = open(sources.get(index));
+            try {
+                LangEvent[] events;
+                int count;
+                do {
+                    events = new LangEvent[CHUNK_SIZE];
+                    count  = stream.nextEvents(events);
+                    put(run, queue, new Chunk(index, events, null, count));
+                } while (count > 0 && !run.cancelled);
+            } finally {
+                // a source stopped early is not at its end
+                stream.close();
+            }
+        }, index -> queues.get(ordered ? index : 0));
+
+        try {
+            int current = 0, finished = 0;
+            // in order: the sources are finished one after another
+            while (finished < sources.size()) {
+                Chunk chunk = take(queues.get(ordered ? current : 0));
+                if (chunk.error != null) {
+                    rethrow(chunk.error);
+                }
+                if (chunk.count == 0) {
+                    finished++;
+                    current++;
+                    continue;
+                }
+
+                Path        source = sources.get(chunk.source);
+                LangEvent[] events = (LangEvent[]) chunk.value;
+                for (int i = 0; i < chunk.count; i++) {
+                    LangEvent event = events[i];
+                    if (!handler.onEvent(source, event.getType(), event)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } finally {
+            run.cancelled = true;
+        }
+    }
+
+    protected S open(Path source) throws IOException {
+        return streams.get().configure(factory).setSource(source.toFile());
+    }
+
+    /**
+     * Applies the given function to the stream of the given source, which is
+     * closed afterwards even if the function did not read it to the end.
+     */
+    private <R> R apply(SourceFunction<? super S, ? extends R> function, Path source) throws IOException, ParseException {
+        S stream = open(source);
+        try {
+            return function.apply(stream);
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Starts the given task for each source on a separate thread, so the
+     * calling thread can consume the results in the meantime. If a task fails,
+     * the error is passed to the queue of its source instead.
+     */
+    private void startAll(Run run, List<Path> sources, SourceTask task, IntFunction<BlockingQueue<Chunk>> queues) {
+        Thread submitter = threadFactory.newThread(() -> {
+            for (int i = 0; i < sources.size() && run.failure == null && !run.cancelled; i++) {
+                final int index = i;
+                try {
+                    submit(run, () -> {
+                        try {
+                            task.run(index);
+                        } catch (Throwable e) {
+                            run.failure = e;
+                            put(run, queues.apply(index), new Chunk(index, null, e));
+                        }
+                        return null;
+                    });
+                } catch (InterruptedIOException e) {
+                    run.failure = e;
+                    // the consumer might wait for any of the remaining sources,
+                    // the interrupt is restored once they have been notified
+                    Thread.interrupted();
+                    try {
+                        for (int j = index; j < sources.size(); j++) {
+                            put(run, queues.apply(j), new Chunk(j, null, e));
+                        }
+                    } catch (InterruptedIOException ignored) {
+                        // interrupted again, give up
+                    }
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // the ingestion has been closed, nobody waits for the sources
+                    return;
+                }
+            }
+        });
+        submitter.start();
+    }
+
+    private <R> Future<R> submit(Run run, Callable<R> task) throws InterruptedIOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for a source");
+        }
+
+        FutureTask<R> future = new FutureTask<>(() -> {
+            try {
+                if (run.cancelled) {
+                    return null;
+                }
+                return task.call();
+            } catch (Exception | Error e) {
+                run.failure = e;
+                throw e;
+            } finally {
+                permits.release();
+            }
+        });
+        if (pool != null) {
+            try {
+                pool.execute(future);
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+        } else {
+            threadFactory.newThread(future).start();
+        }
+        return future;
+    }
+
+    private static void put(Run run, BlockingQueue<Chunk> queue, Chunk chunk) throws InterruptedIOException {
+        try {
+            // gives up once the consumer stopped, which never takes the chunk
+            while (!queue.offer(chunk, 10, TimeUnit.MILLISECONDS)) {
+                if (run.cancelled) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while passing events");
+        }
+    }
+
+    private static Chunk take(BlockingQueue<Chunk> queue) throws InterruptedIOException {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for events");
+        }
+    }
+
+    private static <R> R get(Future<R> future) throws IOException, ParseException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for a result");
+        } catch (ExecutionException e) {
+            rethrow(e.getCause());
+            return null;
+        }
+    }
+
+    private static void rethrow(Throwable error) throws IOException, ParseException {
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof ParseException) {
+            throw (ParseException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        throw new IllegalStateException(error);
+    }
+
+    /**
+     * Stops the pool threads, if any. Running sources are finished first.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    public interface SourceFunction<S, R> {
+
+        R apply(S stream) throws IOException, ParseException;
+    }
+
+    public interface SourceEventHandler {
+
+        boolean onEvent(Path source, int type, LangEvent event);
+    }
+
+    private interface SourceTask {
+
+        void run(int source) throws IOException, ParseException;
+    }
+
+    // the state of one call
+    private static class Run {
+
+        // set if the calling thread stopped consuming, so running sources
+        // are stopped as well
+        volatile boolean cancelled;
+        // set on the first error, no more sources are started afterwards
+        volatile Throwable failure;
+    }
+
+    private static class Chunk {
+
+        final int       source;
+        final Object    value;
+        final Throwable error;
+        final int       count;
+
+        Chunk(int source, Object value, Throwable error) {
+            this(source, value, error, 0);
+        }
+
+        Chunk(int source, Object value, Throwable error, int count) {
+            this.source = source;
+            this.value  = value;
+            this.error  = error;
+            this.count  = count;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package lang; //@date 18.10.2026
+
+import com.file.AsyncFileEntity;
+import com.file.FragmentFileScanner;
+import com.file.impl.csv.CSVInputFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Parses a file without blocking on its channel and waits with
+ * {@link AsyncFileEntity#whenReady(Runnable)} whenever the scanner returns
+ * {@link FragmentFileScanner#NEED_MORE_INPUT}. A wake-up has to bring a new
+ * chunk, so there are never more of them than chunks read from the file.
+ */
+public class AsyncFileEntityTest {
+
+    public static void main(String[] args) throws IOException, ParseException, InterruptedException {
+        StringBuilder source = new StringBuilder("id;name;value\n");
+        for (int i = 0; i < 10_000; i++) {
+            source.append(i).append(";n\u00e4me").append(i).append(';').append(i * 31).append('\n');
+        }
+        File file = File.createTempFile("async", ".csv");
+        file.deleteOnExit();
+        byte[] bytes = source.toString().getBytes(StandardCharsets.UTF_8);
+        Files.write(file.toPath(), bytes);
+
+        CSVInputFactory factory  = new CSVInputFactory();
+        List<String>    expected = events(factory.createFragmentFileScanner(new StringReader(source.toString())), null);
+
+        for (int bufferSize : new int[]{8, 100, 8192}) {
+            factory = new CSVInputFactory();
+            factory.setBufferSize(bufferSize);
+            FragmentFileScanner scanner = factory.createFragmentFileScanner(
+                    AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.READ), StandardCharsets.UTF_8);
+
+            int[]        wakeUps = new int[1];
+            List<String> events  = events(scanner, wakeUps);
+            // the last read returns the end of the input
+            int chunks = bytes.length / bufferSize + 2;
+            System.out.println(bufferSize + ": " + wakeUps[0] + " wake-ups, " + chunks + " chunks");
+
+            if (!events.equals(expected)) {
+                throw new IllegalStateException("unexpected events with buffer size " + bufferSize);
+            }
+            if (wakeUps[0] > chunks) {
+                throw new IllegalStateException("woken up without a new chunk: " + wakeUps[0] + " wake-ups, " + chunks + " chunks");
+            }
+        }
+    }
+
+    private static List<String> events(FragmentFileScanner scanner, int[] wakeUps) throws IOException, ParseException, InterruptedException {
+        List<String> events = new ArrayList<>();
+        while (scanner.hasNext()) {
+            int type = scanner.next();
+            if (type == FragmentFileScanner.NEED_MORE_INPUT) {
+                AsyncFileEntity entity = (AsyncFileEntity) scanner.getScanner().getEntity();
+                CountDownLatch  ready  = new CountDownLatch(1);
+                entity.whenReady(ready::countDown);
+                ready.await();
+                wakeUps[0]++;
+                continue;
+            }
+            events.add(type + ":" + scanner.getText());
+        }
+        return events;
+    }
+}
@@ -0,0 +1,62 @@
+package lang; //@date 18.10.2026
+
+import com.file.impl.csv.CSVInputFactory;
+import com.file.impl.csv.CSVParser;
+import com.file.impl.csv.CSVTable;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.text.ParseException;
+
+/**
+ * Compares the default (locked) scanner with the confined one. Run with
+ * {@code -ea} to verify that the confined scanner is only used by one thread.
+ */
+public class CSVParserBenchmark {
+
+    private static final int ROWS       = 100_000;
+    private static final int ITERATIONS = 10;
+
+    public static void main(String[] args) throws IOException, ParseException {
+        String src = createSource();
+
+        for (int i = 0; i < 3; i++) {
+            run(src, false);
+            run(src, true);
+        }
+
+        long shared   = 0;
+        long confined = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            shared   += run(src, false);
+            confined += run(src, true);
+        }
+        System.out.printf("shared:   %d ms%n", shared / ITERATIONS / 1_000_000);
+        System.out.printf("confined: %d ms%n", confined / ITERATIONS / 1_000_000);
+    }
+
+    private static long run(String src, boolean confined) throws IOException, ParseException {
+        CSVInputFactory factory = new CSVInputFactory();
+        factory.setConfined(confined);
+
+        long start = System.nanoTime();
+        CSVTable table = CSVParser.stream()
+                                  .configure(factory)
+                                  .setSource(new StringReader(src))
+                                  .toObject();
+        long time = System.nanoTime() - start;
+
+        if (table.getRows().size() != ROWS) {
+            throw new IllegalStateException("unexpected row count: " + table.getRows().size());
+        }
+        return time;
+    }
+
+    private static String createSource() {
+        StringBuilder builder = new StringBuilder("id;name;value\n");
+        for (int i = 0; i < ROWS; i++) {
+            builder.append(i).append(";name").append(i).append(';').append(i * 31).append('\n');
+        }
+        return builder.toString();
+    }
+}
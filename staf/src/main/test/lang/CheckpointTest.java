@@ -0,0 +1,95 @@
+package lang; //@date 18.10.2026
+
+import com.file.impl.csv.CSVCheckpoint;
+import com.file.impl.csv.CSVParser;
+import com.file.impl.csv.event.CSVCellEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Takes a checkpoint in the middle of a file, serializes it and resumes a new
+ * parser at it. The resumed parser has to return the same cells as the first
+ * one after the checkpoint. A source without a byte position has no checkpoint.
+ */
+public class CheckpointTest {
+
+    public static void main(String[] args) throws IOException, ParseException, ClassNotFoundException {
+        StringBuilder source = new StringBuilder("id;name;value\n");
+        for (int i = 0; i < 1000; i++) {
+            source.append(i).append(";n\u00e4me").append(i).append(';').append(i * 31).append('\n');
+        }
+        File file = File.createTempFile("checkpoint", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), source.toString().getBytes(StandardCharsets.UTF_8));
+
+        for (int cut : new int[]{1, 2, 500, 1501, 2999}) {
+            CSVParser     parser     = CSVParser.stream().setSource(file);
+            CSVCheckpoint checkpoint = null;
+            List<String>  expected   = new ArrayList<>();
+            for (int cell = 0; parser.hasNext(); cell++) {
+                if (cell == cut) {
+                    checkpoint = parser.checkpoint();
+                }
+                CSVCellEvent event = parser.nextCell();
+                if (event == null) {
+                    break;
+                }
+                if (checkpoint != null) {
+                    expected.add(toString(event));
+                }
+            }
+
+            CSVParser    resumed = CSVParser.stream().resume(file, copy(checkpoint));
+            List<String> cells   = new ArrayList<>();
+            while (resumed.hasNext()) {
+                CSVCellEvent event = resumed.nextCell();
+                if (event == null) {
+                    break;
+                }
+                cells.add(toString(event));
+            }
+            System.out.println(cut + ": " + cells.size() + " cells, first " + (cells.isEmpty() ? null : cells.get(0)));
+            if (!cells.equals(expected)) {
+                throw new IllegalStateException("resumed at " + checkpoint + ": " + cells + ", expected " + expected);
+            }
+        }
+
+        // a string has no byte position to resume at
+        CSVParser parser = CSVParser.stream().setSource(source.toString());
+        parser.nextCell();
+        boolean rejected = false;
+        try {
+            parser.checkpoint();
+        } catch (IllegalStateException e) {
+            System.out.println("string: " + e.getMessage());
+            rejected = true;
+        }
+        if (!rejected) {
+            throw new IllegalStateException("checkpoint of a string source");
+        }
+    }
+
+    private static CSVCheckpoint copy(CSVCheckpoint checkpoint) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(checkpoint);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (CSVCheckpoint) in.readObject();
+        }
+    }
+
+    private static String toString(CSVCellEvent event) {
+        return event.getRow() + "/" + event.getColumn() + ":" + event.getText();
+    }
+}
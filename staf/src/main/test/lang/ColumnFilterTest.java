@@ -0,0 +1,64 @@
+package lang; //@date 18.10.2026
+
+import com.file.impl.csv.CSVColumnTable;
+import com.file.impl.csv.CSVParser;
+import com.file.impl.csv.CSVRowView;
+import com.file.impl.csv.CSVTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Selects a single column of a file with and without a trailing line break.
+ * The line break must not add an empty row, whichever way the rows are read.
+ */
+public class ColumnFilterTest {
+
+    public static void main(String[] args) throws IOException, ParseException {
+        for (String source : new String[]{"column1;column2;col3\nval1;val2;val3\nval4;val5;val6\n",
+                                          "column1;column2;col3\nval1;val2;val3\nval4;val5;val6"}) {
+            File file = File.createTempFile("filter", ".csv");
+            file.deleteOnExit();
+            Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+
+            check("toObject", rows(CSVParser.stream().setColumnFilter(0).setSource(file).toObject()));
+            check("toObject(pool)", rows(CSVParser.stream().setColumnFilter(0).setSource(file).toObject(ForkJoinPool.commonPool())));
+
+            List<String> views = new ArrayList<>();
+            for (Iterator<CSVRowView> rows = CSVParser.stream().setColumnFilter(0).setSource(file).rows(); rows.hasNext(); ) {
+                views.add(Arrays.toString(rows.next().toArray()));
+            }
+            check("rows", views);
+
+            CSVColumnTable table   = CSVParser.stream().setColumnFilter(0).setSource(file).toColumnTable();
+            List<String>   columns = new ArrayList<>();
+            for (int row = 0; row < table.getRowCount(); row++) {
+                columns.add("[" + table.get(row, 0) + "]");
+            }
+            check("toColumnTable", columns);
+        }
+    }
+
+    private static List<String> rows(CSVTable table) {
+        List<String> rows = new ArrayList<>();
+        for (CSVTable.CSVRow row : table.getRows()) {
+            rows.add(Arrays.toString(row.values));
+        }
+        return rows;
+    }
+
+    private static void check(String method, List<String> rows) {
+        System.out.println(method + ": " + rows);
+        if (!rows.equals(Arrays.asList("[val1]", "[val4]"))) {
+            throw new IllegalStateException(method + " returned " + rows);
+        }
+    }
+}
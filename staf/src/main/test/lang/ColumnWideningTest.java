@@ -0,0 +1,65 @@
+package lang; //@date 18.10.2026
+
+import com.file.impl.csv.CSVColumnTable;
+import com.file.impl.csv.CSVParser;
+import com.file.impl.csv.column.Column;
+import com.file.impl.csv.column.ColumnType;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+/**
+ * The types of the columns are inferred from the first two rows. The rows
+ * behind them widen every column to text, which has to keep the cells exactly
+ * as they are in the source.
+ */
+public class ColumnWideningTest {
+
+    private static final String[][] ROWS = {
+            {"id", "price", "flag"},
+            {"1", "2.5", "true"},
+            {"2", "3.0", "false"},
+            {"01234", "1.50", "TRUE"},
+            {"00042", "2e3", "False"},
+            {"+7", "-1E2", "true"},
+            {"x", "y", "z"}
+    };
+
+    public static void main(String[] args) throws IOException, ParseException {
+        StringBuilder source = new StringBuilder();
+        for (String[] row : ROWS) {
+            source.append(String.join(";", row)).append('\n');
+        }
+
+        CSVColumnTable table = CSVParser.stream()
+                                        .setSampleSize(2)
+                                        .setSource(source.toString())
+                                        .toColumnTable();
+        System.out.println(table);
+
+        for (int column = 0; column < table.getColumnCount(); column++) {
+            Column current = table.getColumn(column);
+            if (current.getType() != ColumnType.STRING) {
+                throw new IllegalStateException("column not widened: " + current);
+            }
+            for (int row = 0; row < table.getRowCount(); row++) {
+                String expected = ROWS[row + 1][column];
+                if (!expected.equals(current.getText(row)) || !expected.equals(current.get(row))) {
+                    throw new IllegalStateException("cell " + row + "/" + column + " changed: " + current.get(row)
+                                                    + ", expected " + expected);
+                }
+            }
+        }
+
+        // numbers may be converted as long as the column is numeric
+        CSVColumnTable numbers = CSVParser.stream()
+                                          .setSampleSize(1)
+                                          .setSource("id\n1\n01234\n3000000000\n")
+                                          .toColumnTable();
+        Column id = numbers.getColumn(0);
+        System.out.println(id + " " + id.get(1) + " " + id.getText(1));
+        if (id.getType() != ColumnType.LONG || !id.get(1).equals(1234L) || !"01234".equals(id.getText(1))) {
+            throw new IllegalStateException("unexpected widening: " + numbers);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package lang; //@date 18.10.2026
+
+import com.file.FragmentFileScanner;
+import com.file.impl.csv.CSVInputFactory;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feeds the source in chunks of a few chars, the scanner returns
+ * {@link FragmentFileScanner#NEED_MORE_INPUT} whenever it has consumed a chunk.
+ * The events have to be the same as the ones of the whole source.
+ */
+public class FeedFileScannerTest {
+
+    private static final String SOURCE = "id;name;value\n1;foo;10\n2;b\u00e4r;20\n3;baz;30";
+
+    public static void main(String[] args) throws IOException, ParseException {
+        CSVInputFactory factory  = new CSVInputFactory();
+        List<String>    expected = events(factory.createFragmentFileScanner(new StringReader(SOURCE)), 0);
+
+        for (int chunk = 1; chunk <= 5; chunk++) {
+            List<String> events = events(factory.createFragmentFileScanner(factory.createFeedFileScanner()), chunk);
+            System.out.println(chunk + ": " + events);
+            if (!events.equals(expected)) {
+                throw new IllegalStateException("unexpected events: " + events + ", expected " + expected);
+            }
+        }
+    }
+
+    private static List<String> events(FragmentFileScanner scanner, int chunk) throws IOException, ParseException {
+        List<String> events   = new ArrayList<>();
+        int          position = 0;
+        int          waits    = 0;
+        while (scanner.hasNext()) {
+            int type = scanner.next();
+            if (type == FragmentFileScanner.NEED_MORE_INPUT) {
+                waits++;
+                if (position == SOURCE.length()) {
+                    scanner.endOfInput();
+                } else {
+                    int end = Math.min(SOURCE.length(), position + chunk);
+                    scanner.feed(SOURCE.substring(position, end));
+                    position = end;
+                }
+                continue;
+            }
+            events.add(type + ":" + scanner.getText());
+        }
+        if (chunk > 0 && waits <= SOURCE.length() / chunk) {
+            throw new IllegalStateException("the scanner did not wait for every chunk");
+        }
+        return events;
+    }
+}